@@ -37,6 +37,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -82,6 +83,7 @@ public final class CloudBrigadierManager<C, S> implements SenderMapperHolder<S,
     private final Map<@NonNull Class<?>, @NonNull ArgumentTypeFactory<?>> defaultArgumentTypeSuppliers;
     private final Configurable<BrigadierSetting> settings = Configurable.enumConfigurable(BrigadierSetting.class);
     private final SenderMapper<S, C> brigadierSourceMapper;
+    private final AtomicLong mappingsRevision = new AtomicLong();
 
     /**
      * Create a new cloud brigadier manager
@@ -273,6 +275,7 @@ public final class CloudBrigadierManager<C, S> implements SenderMapperHolder<S,
             );
         }
         this.brigadierMappings.registerMapping(parserClass, mapping.withNativeSuggestions(nativeSuggestions));
+        this.mappingsRevision.incrementAndGet();
     }
 
     /**
@@ -291,6 +294,7 @@ public final class CloudBrigadierManager<C, S> implements SenderMapperHolder<S,
         final BrigadierMappingBuilder<K, S> builder = BrigadierMapping.builder();
         configurer.accept(builder);
         this.mappings().registerMappingUnsafe((Class<K>) GenericTypeReflector.erase(parserType.getType()), builder.build());
+        this.mappingsRevision.incrementAndGet();
     }
 
     /**
@@ -304,6 +308,18 @@ public final class CloudBrigadierManager<C, S> implements SenderMapperHolder<S,
         return this.brigadierMappings;
     }
 
+    /**
+     * Returns a counter that is incremented whenever a mapping or default argument type factory is registered through this
+     * manager, so that platforms can tell whether nodes they built earlier are still up to date.
+     *
+     * @return the revision of the mappings
+     * @since 2.0.0
+     */
+    @API(status = API.Status.INTERNAL, since = "2.0.0")
+    public long mappingsRevision() {
+        return this.mappingsRevision.get();
+    }
+
     /**
      * Returns a factory that creates {@link LiteralCommandNode literal command nodes} from Cloud commands.
      *
@@ -329,6 +345,7 @@ public final class CloudBrigadierManager<C, S> implements SenderMapperHolder<S,
             final @NonNull ArgumentTypeFactory<T> factory
     ) {
         this.defaultArgumentTypeSuppliers.put(clazz, factory);
+        this.mappingsRevision.incrementAndGet();
     }
 
     /**
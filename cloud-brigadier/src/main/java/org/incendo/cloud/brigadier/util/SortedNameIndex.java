@@ -0,0 +1,255 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.brigadier.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Immutable index of values by name, supporting exact lookups and prefix range queries over
+ * the sorted names.
+ *
+ * <p>Names are stored as given, callers are responsible for normalizing both the indexed names and
+ * the queried names (e.g. lower-casing).</p>
+ *
+ * @param <T> value type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class SortedNameIndex<T> {
+
+    private static final SortedNameIndex<?> EMPTY = new SortedNameIndex<>(new String[0], new Object[0], Collections.emptyMap());
+
+    private final String[] names;
+    private final Object[] values;
+    private final Map<String, T> byName;
+
+    private SortedNameIndex(final String[] names, final Object[] values, final Map<String, T> byName) {
+        this.names = names;
+        this.values = values;
+        this.byName = byName;
+    }
+
+    /**
+     * Returns an empty index.
+     *
+     * @param <T> value type
+     * @return empty index
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NonNull SortedNameIndex<T> empty() {
+        return (SortedNameIndex<T>) EMPTY;
+    }
+
+    /**
+     * Creates an index from the given values. If multiple values map to the same name, the first one wins.
+     *
+     * @param values       values to index
+     * @param nameFunction function computing the (normalized) name of a value
+     * @param <T>          value type
+     * @return the index
+     */
+    public static <T> @NonNull SortedNameIndex<T> of(
+            final @NonNull Iterable<? extends T> values,
+            final @NonNull Function<? super T, String> nameFunction
+    ) {
+        final Map<String, T> byName = new HashMap<>();
+        for (final T value : values) {
+            byName.putIfAbsent(nameFunction.apply(value), value);
+        }
+        if (byName.isEmpty()) {
+            return empty();
+        }
+        final String[] names = byName.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        final Object[] sortedValues = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            sortedValues[i] = byName.get(names[i]);
+        }
+        return new SortedNameIndex<>(names, sortedValues, byName);
+    }
+
+    /**
+     * Returns a copy of this index with {@code value} indexed under {@code name}, replacing any value
+     * already indexed under it.
+     *
+     * @param name  (normalized) name
+     * @param value value
+     * @return the new index
+     */
+    public @NonNull SortedNameIndex<T> with(final @NonNull String name, final @NonNull T value) {
+        final Map<String, T> byName = new HashMap<>(this.byName);
+        byName.put(name, value);
+        final int index = this.lowerBound(name);
+        if (index < this.names.length && this.names[index].equals(name)) {
+            final Object[] values = this.values.clone();
+            values[index] = value;
+            return new SortedNameIndex<>(this.names, values, byName);
+        }
+        final int size = this.names.length;
+        final String[] names = new String[size + 1];
+        final Object[] values = new Object[size + 1];
+        System.arraycopy(this.names, 0, names, 0, index);
+        System.arraycopy(this.values, 0, values, 0, index);
+        names[index] = name;
+        values[index] = value;
+        System.arraycopy(this.names, index, names, index + 1, size - index);
+        System.arraycopy(this.values, index, values, index + 1, size - index);
+        return new SortedNameIndex<>(names, values, byName);
+    }
+
+    /**
+     * Returns a copy of this index without the value indexed under {@code name}, if that value matches
+     * {@code filter}. Returns this index if nothing was removed.
+     *
+     * @param name   (normalized) name
+     * @param filter filter the indexed value must match to be removed
+     * @return the new index
+     */
+    public @NonNull SortedNameIndex<T> without(final @NonNull String name, final @NonNull Predicate<? super T> filter) {
+        final @Nullable T value = this.byName.get(name);
+        if (value == null || !filter.test(value)) {
+            return this;
+        }
+        if (this.names.length == 1) {
+            return empty();
+        }
+        final Map<String, T> byName = new HashMap<>(this.byName);
+        byName.remove(name);
+        final int index = this.lowerBound(name);
+        final int size = this.names.length;
+        final String[] names = new String[size - 1];
+        final Object[] values = new Object[size - 1];
+        System.arraycopy(this.names, 0, names, 0, index);
+        System.arraycopy(this.values, 0, values, 0, index);
+        System.arraycopy(this.names, index + 1, names, index, size - index - 1);
+        System.arraycopy(this.values, index + 1, values, index, size - index - 1);
+        return new SortedNameIndex<>(names, values, byName);
+    }
+
+    /**
+     * Returns the value indexed under exactly {@code name}.
+     *
+     * @param name name
+     * @return the value, or {@code null}
+     */
+    public @Nullable T get(final @NonNull String name) {
+        return this.byName.get(name);
+    }
+
+    /**
+     * Returns the number of indexed values.
+     *
+     * @return size
+     */
+    public int size() {
+        return this.names.length;
+    }
+
+    /**
+     * Returns an unmodifiable view of the sorted names starting with {@code prefix}.
+     *
+     * @param prefix prefix
+     * @return matching names
+     */
+    public @NonNull List<@NonNull String> namesWithPrefix(final @NonNull String prefix) {
+        final int from = this.lowerBound(prefix);
+        final int to = this.upperBound(prefix, from);
+        return Collections.unmodifiableList(Arrays.asList(this.names).subList(from, to));
+    }
+
+    /**
+     * Returns an unmodifiable view of the values whose names start with {@code prefix}, in name order.
+     *
+     * @param prefix prefix
+     * @return matching values
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull List<T> valuesWithPrefix(final @NonNull String prefix) {
+        final int from = this.lowerBound(prefix);
+        final int to = this.upperBound(prefix, from);
+        return Collections.unmodifiableList((List<T>) Arrays.asList(this.values).subList(from, to));
+    }
+
+    /**
+     * Returns a new list of the names starting with {@code prefix} whose value matches {@code filter}.
+     *
+     * @param prefix prefix
+     * @param filter value filter, only applied to the matching range
+     * @return matching names
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull List<@NonNull String> namesWithPrefix(
+            final @NonNull String prefix,
+            final @NonNull Predicate<? super T> filter
+    ) {
+        final int from = this.lowerBound(prefix);
+        final int to = this.upperBound(prefix, from);
+        final List<String> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (filter.test((T) this.values[i])) {
+                result.add(this.names[i]);
+            }
+        }
+        return result;
+    }
+
+    /* first index whose name is >= prefix */
+    private int lowerBound(final String prefix) {
+        int low = 0;
+        int high = this.names.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.names[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /* first index at or after from whose name does not start with prefix */
+    private int upperBound(final String prefix, final int from) {
+        int low = from;
+        int high = this.names.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.names[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,138 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.brigadier.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+
+/**
+ * Executors backing the virtual thread coordinator presets of the platform modules.
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class VirtualThreadExecutors {
+
+    /**
+     * Default maximum number of threads of the fallback pool.
+     */
+    public static final int DEFAULT_MAX_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private VirtualThreadExecutors() {
+    }
+
+    /**
+     * Returns a coordinator that parses commands and computes suggestions on the given {@code executor}.
+     *
+     * @param <C>      command sender type
+     * @param executor the executor
+     * @return the coordinator
+     */
+    public static <C> @NonNull ExecutionCoordinator<C> coordinator(final @NonNull Executor executor) {
+        return ExecutionCoordinator.<C>builder()
+            .parsingExecutor(executor)
+            .suggestionsExecutor(executor)
+            .build();
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task when the runtime supports them, or otherwise a pool of at
+     * most {@code maxThreads} daemon threads named {@code threadPrefix} followed by a counter.
+     *
+     * @param threadPrefix name prefix of the fallback pool's threads
+     * @param maxThreads   maximum number of threads of the fallback pool
+     * @return the executor
+     * @throws IllegalArgumentException if {@code maxThreads} is not positive
+     */
+    public static @NonNull Executor create(final @NonNull String threadPrefix, final int maxThreads) {
+        checkMaxThreads(maxThreads);
+        final @Nullable Executor virtual = virtualThreadExecutor();
+        if (virtual != null) {
+            return virtual;
+        }
+        return pool(threadPrefix, maxThreads);
+    }
+
+    static @NonNull Executor pool(final @NonNull String threadPrefix, final int maxThreads) {
+        checkMaxThreads(maxThreads);
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new DaemonThreadFactory(threadPrefix)
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static void checkMaxThreads(final int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads must be positive: " + maxThreads);
+        }
+    }
+
+    private static @Nullable Executor virtualThreadExecutor() {
+        try {
+            final MethodHandle factory = MethodHandles.publicLookup().findStatic(
+                Executors.class,
+                "newVirtualThreadPerTaskExecutor",
+                MethodType.methodType(ExecutorService.class)
+            );
+            return (ExecutorService) factory.invokeExact();
+        } catch (final Throwable ignored) {
+            // Older runtime, or virtual threads still in preview
+            return null;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final String prefix;
+
+        private DaemonThreadFactory(final @NonNull String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(final @NonNull Runnable runnable) {
+            final Thread thread = new Thread(runnable, this.prefix + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
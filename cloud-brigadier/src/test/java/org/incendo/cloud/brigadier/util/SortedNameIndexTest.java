@@ -0,0 +1,74 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.brigadier.util;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class SortedNameIndexTest {
+
+    private final SortedNameIndex<String> index = SortedNameIndex.of(
+            Arrays.asList("stone", "dirt", "stone_bricks", "diamond", "stick", "grass"),
+            Function.identity()
+    );
+
+    @Test
+    void Get_Exact_Found() {
+        assertThat(this.index.get("stone")).isEqualTo("stone");
+        assertThat(this.index.get("ston")).isNull();
+    }
+
+    @Test
+    void NamesWithPrefix_Range_Sorted() {
+        assertThat(this.index.namesWithPrefix("st")).containsExactly("stick", "stone", "stone_bricks").inOrder();
+        assertThat(this.index.namesWithPrefix("di")).containsExactly("diamond", "dirt").inOrder();
+        assertThat(this.index.namesWithPrefix("stone")).containsExactly("stone", "stone_bricks").inOrder();
+    }
+
+    @Test
+    void NamesWithPrefix_EmptyPrefix_AllNames() {
+        assertThat(this.index.namesWithPrefix("")).hasSize(6);
+    }
+
+    @Test
+    void NamesWithPrefix_NoMatch_Empty() {
+        assertThat(this.index.namesWithPrefix("z")).isEmpty();
+        assertThat(this.index.namesWithPrefix("a")).isEmpty();
+        assertThat(this.index.namesWithPrefix("stones")).isEmpty();
+    }
+
+    @Test
+    void NamesWithPrefix_Filter_AppliedToRange() {
+        assertThat(this.index.namesWithPrefix("st", value -> value.length() > 5)).containsExactly("stone_bricks");
+    }
+
+    @Test
+    void Empty_NoValues() {
+        assertThat(SortedNameIndex.empty().namesWithPrefix("")).isEmpty();
+        assertThat(SortedNameIndex.empty().size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,79 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.brigadier.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.internal.CommandRegistrationHandler;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VirtualThreadExecutorsTest {
+
+    @Test
+    void Create_ZeroMaxThreads_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> VirtualThreadExecutors.create("test-worker-", 0));
+    }
+
+    @Test
+    void Pool_NegativeMaxThreads_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> VirtualThreadExecutors.pool("test-worker-", -1));
+    }
+
+    @Test
+    void Coordinator_FallbackPool_ExecutesOnNamedDaemonThread() throws Exception {
+        // Arrange
+        final Executor executor = VirtualThreadExecutors.pool("test-worker-", 1);
+        final TestCommandManager commandManager = new TestCommandManager(VirtualThreadExecutors.coordinator(executor));
+        final AtomicReference<Thread> handlerThread = new AtomicReference<>();
+        commandManager.command(commandManager.commandBuilder("test").handler(ctx -> handlerThread.set(Thread.currentThread())));
+
+        // Act
+        commandManager.commandExecutor().executeCommand(new Object(), "test").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(handlerThread.get().getName()).isEqualTo("test-worker-1");
+        assertThat(handlerThread.get().isDaemon()).isTrue();
+    }
+
+    private static final class TestCommandManager extends CommandManager<Object> {
+
+        private TestCommandManager(final @NonNull ExecutionCoordinator<Object> executionCoordinator) {
+            super(executionCoordinator, CommandRegistrationHandler.nullCommandRegistrationHandler());
+        }
+
+        @Override
+        public boolean hasPermission(final @NonNull Object sender, final @NonNull String permission) {
+            return true;
+        }
+    }
+}
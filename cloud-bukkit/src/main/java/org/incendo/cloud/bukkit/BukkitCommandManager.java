@@ -37,6 +37,9 @@ import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.SenderMapperHolder;
 import org.incendo.cloud.brigadier.BrigadierManagerHolder;
 import org.incendo.cloud.brigadier.CloudBrigadierManager;
+import org.incendo.cloud.bukkit.internal.EnchantmentIndex;
+import org.incendo.cloud.bukkit.internal.OnlinePlayerIndex;
+import org.incendo.cloud.bukkit.internal.WorldIndex;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.state.RegistrationState;
@@ -51,6 +54,8 @@ public abstract class BukkitCommandManager<C> extends CommandManager<C> implemen
 
     private final Plugin owningPlugin;
     private final SenderMapper<CommandSender, C> senderMapper;
+    private final OnlinePlayerIndex onlinePlayerIndex;
+    private final WorldIndex worldIndex;
 
     private boolean splitAliases = false;
 
@@ -88,6 +93,9 @@ public abstract class BukkitCommandManager<C> extends CommandManager<C> implemen
         }
         this.owningPlugin = owningPlugin;
         this.senderMapper = senderMapper;
+        this.onlinePlayerIndex = OnlinePlayerIndex.create(owningPlugin);
+        this.worldIndex = WorldIndex.create(owningPlugin);
+        EnchantmentIndex.invalidateOnServerLoad(owningPlugin);
 
         /* Register capabilities */
         CloudBukkitCapabilities.CAPABLE.forEach(this::registerCapability);
@@ -225,6 +233,14 @@ public abstract class BukkitCommandManager<C> extends CommandManager<C> implemen
         );
     }
 
+    final @NonNull OnlinePlayerIndex onlinePlayerIndex() {
+        return this.onlinePlayerIndex;
+    }
+
+    final @NonNull WorldIndex worldIndex() {
+        return this.worldIndex;
+    }
+
     final void lockIfBrigadierCapable() {
         if (this.hasCapability(CloudBukkitCapabilities.BRIGADIER)) {
             this.lockRegistration();
@@ -23,11 +23,14 @@
 //
 package org.incendo.cloud.bukkit;
 
+import java.util.concurrent.Executor;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
 import org.incendo.cloud.bukkit.internal.BukkitBackwardsBrigadierSenderMapper;
 import org.incendo.cloud.bukkit.internal.BukkitHelper;
+import org.incendo.cloud.bukkit.internal.OnlinePlayerIndex;
+import org.incendo.cloud.bukkit.internal.WorldIndex;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessingContext;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessor;
@@ -42,6 +45,7 @@ final class BukkitCommandPreprocessor<C> implements CommandPreprocessor<C> {
 
     private final BukkitCommandManager<C> commandManager;
     private final @Nullable BukkitBackwardsBrigadierSenderMapper<C, ?> mapper;
+    private volatile @Nullable Executor mainThreadExecutor;
 
     /**
      * The Bukkit Command Preprocessor for storing Bukkit-specific contexts in the command contexts
@@ -74,11 +78,21 @@ final class BukkitCommandPreprocessor<C> implements CommandPreprocessor<C> {
                 BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER,
                 this.commandManager.senderMapper().reverse(context.commandContext().sender())
         );
+        context.commandContext().store(OnlinePlayerIndex.KEY, this.commandManager.onlinePlayerIndex());
+        context.commandContext().store(WorldIndex.KEY, this.commandManager.worldIndex());
 
         // Store if PaperCommandManager's preprocessor didn't already
-        context.commandContext().computeIfAbsent(
-                BukkitCommandContextKeys.SENDER_SCHEDULER_EXECUTOR,
-                $ -> BukkitHelper.mainThreadExecutor(this.commandManager)
-        );
+        if (!context.commandContext().contains(BukkitCommandContextKeys.SENDER_SCHEDULER_EXECUTOR)) {
+            context.commandContext().store(BukkitCommandContextKeys.SENDER_SCHEDULER_EXECUTOR, this.mainThreadExecutor());
+        }
+    }
+
+    private @NonNull Executor mainThreadExecutor() {
+        @Nullable Executor executor = this.mainThreadExecutor;
+        if (executor == null) {
+            executor = BukkitHelper.mainThreadExecutor(this.commandManager);
+            this.mainThreadExecutor = executor;
+        }
+        return executor;
     }
 }
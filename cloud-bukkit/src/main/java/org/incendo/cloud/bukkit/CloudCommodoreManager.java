@@ -27,6 +27,8 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collections;
@@ -41,10 +43,24 @@ import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.brigadier.CloudBrigadierManager;
 import org.incendo.cloud.bukkit.internal.BukkitBackwardsBrigadierSenderMapper;
 import org.incendo.cloud.bukkit.internal.BukkitBrigadierMapper;
+import org.incendo.cloud.bukkit.internal.CraftBukkitReflection;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 class CloudCommodoreManager<C> extends BukkitPluginRegistrationHandler<C> {
 
+    private static final ClassValue<MethodHandle> GET_BUKKIT_SENDER = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(final Class<?> type) {
+            return declaredMethodHandle(type, "getBukkitSender", MethodType.methodType(CommandSender.class, Object.class));
+        }
+    };
+    private static final ClassValue<MethodHandle> GET_DISPATCHER = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(final Class<?> type) {
+            return declaredMethodHandle(type, "getDispatcher", MethodType.methodType(CommandDispatcher.class, Object.class));
+        }
+    };
+
     private final BukkitCommandManager<C> commandManager;
     private final CloudBrigadierManager<C, Object> brigadierManager;
     private final Commodore commodore;
@@ -159,21 +175,25 @@ class CloudCommodoreManager<C> extends BukkitPluginRegistrationHandler<C> {
 
     private CommandDispatcher<?> getDispatcher() {
         try {
-            final Method getDispatcherMethod = this.commodore.getClass().getDeclaredMethod("getDispatcher");
-            getDispatcherMethod.setAccessible(true);
-            return (CommandDispatcher<?>) getDispatcherMethod.invoke(this.commodore);
-        } catch (final ReflectiveOperationException ex) {
-            throw new RuntimeException(ex);
+            return (CommandDispatcher<?>) GET_DISPATCHER.get(this.commodore.getClass()).invokeExact((Object) this.commodore);
+        } catch (final Throwable thr) {
+            throw CraftBukkitReflection.propagate(thr);
         }
     }
 
     private static CommandSender getBukkitSender(final @NonNull Object commandSourceStack) {
         Objects.requireNonNull(commandSourceStack, "commandSourceStack");
         try {
-            final Method getBukkitSenderMethod = commandSourceStack.getClass().getDeclaredMethod("getBukkitSender");
-            getBukkitSenderMethod.setAccessible(true);
-            return (CommandSender) getBukkitSenderMethod.invoke(commandSourceStack);
-        } catch (final ReflectiveOperationException ex) {
+            return (CommandSender) GET_BUKKIT_SENDER.get(commandSourceStack.getClass()).invokeExact(commandSourceStack);
+        } catch (final Throwable thr) {
+            throw CraftBukkitReflection.propagate(thr);
+        }
+    }
+
+    private static MethodHandle declaredMethodHandle(final Class<?> holder, final String name, final MethodType type) {
+        try {
+            return CraftBukkitReflection.unreflect(holder.getDeclaredMethod(name), type);
+        } catch (final NoSuchMethodException ex) {
             throw new RuntimeException(ex);
         }
     }
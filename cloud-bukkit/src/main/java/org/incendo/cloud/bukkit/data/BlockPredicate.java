@@ -23,7 +23,9 @@
 //
 package org.incendo.cloud.bukkit.data;
 
+import java.util.BitSet;
 import java.util.function.Predicate;
+import org.apiguardian.api.API;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -36,6 +38,9 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  *
  * <p>To get a {@link BlockPredicate} which will load chunks, use {@link #loadChunks()}.</p>
  *
+ * <p>When testing many blocks at once, prefer {@link #testAll(World, int[])} or
+ * {@link #testRegion(World, int, int, int, int, int, int)}, which may reuse state between positions.</p>
+ *
  * @since 1.5.0
  */
 public interface BlockPredicate extends Predicate<Block> {
@@ -50,4 +55,77 @@ public interface BlockPredicate extends Predicate<Block> {
      * @since 1.5.0
      */
     @NonNull BlockPredicate loadChunks();
+
+    /**
+     * Test the blocks at each {@code x, y, z} triple packed into {@code xyz}.
+     *
+     * <p>Bit {@code i} of the result is set when the block at {@code (xyz[3i], xyz[3i + 1], xyz[3i + 2])}
+     * matches this predicate.</p>
+     *
+     * @param world world containing the blocks
+     * @param xyz   packed block coordinates
+     * @return the matching positions
+     * @throws IllegalArgumentException if the length of {@code xyz} is not a multiple of three
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    default @NonNull BitSet testAll(final @NonNull World world, final int @NonNull [] xyz) {
+        if (xyz.length % 3 != 0) {
+            throw new IllegalArgumentException("Coordinate array length must be a multiple of 3, was " + xyz.length);
+        }
+        final BitSet result = new BitSet(xyz.length / 3);
+        for (int i = 0; i < xyz.length; i += 3) {
+            if (this.test(world.getBlockAt(xyz[i], xyz[i + 1], xyz[i + 2]))) {
+                result.set(i / 3);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Test every block in the cuboid region between the given corners, inclusive.
+     *
+     * <p>Bit {@code ((y - minY) * lengthZ + (z - minZ)) * lengthX + (x - minX)} of the result is set when the
+     * block at {@code (x, y, z)} matches this predicate.</p>
+     *
+     * @param world world containing the region
+     * @param minX  minimum x coordinate
+     * @param minY  minimum y coordinate
+     * @param minZ  minimum z coordinate
+     * @param maxX  maximum x coordinate
+     * @param maxY  maximum y coordinate
+     * @param maxZ  maximum z coordinate
+     * @return the matching positions
+     * @throws IllegalArgumentException if a minimum exceeds its maximum, or the region holds more than
+     *                                  {@link Integer#MAX_VALUE} blocks
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    default @NonNull BitSet testRegion(
+            final @NonNull World world,
+            final int minX,
+            final int minY,
+            final int minZ,
+            final int maxX,
+            final int maxY,
+            final int maxZ
+    ) {
+        final long volume = ((long) maxX - minX + 1) * ((long) maxY - minY + 1) * ((long) maxZ - minZ + 1);
+        if (minX > maxX || minY > maxY || minZ > maxZ || volume > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid region volume " + volume);
+        }
+        final BitSet result = new BitSet((int) volume);
+        int index = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    if (this.test(world.getBlockAt(x, y, z))) {
+                        result.set(index);
+                    }
+                    index++;
+                }
+            }
+        }
+        return result;
+    }
 }
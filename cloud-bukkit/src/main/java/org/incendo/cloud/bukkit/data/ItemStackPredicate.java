@@ -23,14 +23,60 @@
 //
 package org.incendo.cloud.bukkit.data;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.function.Predicate;
+import org.apiguardian.api.API;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * {@link Predicate} for {@link ItemStack ItemStacks}, parsed from user input.
  *
+ * <p>When testing many stacks at once, prefer {@link #testAll(Iterable)} or {@link #testAll(Inventory)},
+ * which may share work between stacks.</p>
+ *
  * @since 1.5.0
  */
 public interface ItemStackPredicate extends Predicate<ItemStack> {
 
+    /**
+     * Test each of the given item stacks.
+     *
+     * <p>Bit {@code i} of the result is set when the {@code i}-th stack matches this predicate.
+     * {@code null} entries never match.</p>
+     *
+     * @param itemStacks item stacks to test
+     * @return the matching indices
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    default @NonNull BitSet testAll(final @NonNull Iterable<? extends @Nullable ItemStack> itemStacks) {
+        final BitSet result = new BitSet();
+        int index = 0;
+        for (final ItemStack itemStack : itemStacks) {
+            if (itemStack != null && this.test(itemStack)) {
+                result.set(index);
+            }
+            index++;
+        }
+        return result;
+    }
+
+    /**
+     * Test the contents of the given inventory.
+     *
+     * <p>Bit {@code i} of the result is set when the stack in slot {@code i} matches this predicate.
+     * Empty slots never match.</p>
+     *
+     * @param inventory inventory to test
+     * @return the matching slots
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    default @NonNull BitSet testAll(final @NonNull Inventory inventory) {
+        return this.testAll(Arrays.asList(inventory.getContents()));
+    }
 }
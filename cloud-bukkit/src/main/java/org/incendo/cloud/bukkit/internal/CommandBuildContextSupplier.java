@@ -23,11 +23,14 @@
 //
 package org.incendo.cloud.bukkit.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -39,10 +42,11 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public final class CommandBuildContextSupplier {
 
     private static final Class<?> COMMAND_BUILD_CONTEXT_CLASS = CraftBukkitReflection.needMCClass("commands.CommandBuildContext");
-    private static final @Nullable Constructor<?> COMMAND_BUILD_CONTEXT_CTR;
-    private static final @Nullable Method CREATE_CONTEXT_METHOD;
-    private static final @Nullable Method GET_WORLD_DATA_METHOD;
-    private static final @Nullable Method GET_FEATURE_FLAGS_METHOD;
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final @Nullable MethodHandle COMMAND_BUILD_CONTEXT_CTR;
+    private static final @Nullable MethodHandle CREATE_CONTEXT_METHOD;
+    private static final @Nullable MethodHandle GET_WORLD_DATA_METHOD;
+    private static final @Nullable MethodHandle GET_FEATURE_FLAGS_METHOD;
     private static final Class<?> REG_ACC_CLASS;
     private static final Class<?> MC_SERVER_CLASS = CraftBukkitReflection.needNMSClassOrElse(
             "MinecraftServer", "net.minecraft.server.MinecraftServer"
@@ -55,19 +59,19 @@ public final class CommandBuildContextSupplier {
         } catch (final Exception ex) {
             ctr = null;
         }
-        COMMAND_BUILD_CONTEXT_CTR = ctr;
 
-        if (COMMAND_BUILD_CONTEXT_CTR == null) {
+        if (ctr == null) {
             final List<Method> matchingFactoryMethods = Arrays.stream(COMMAND_BUILD_CONTEXT_CLASS.getDeclaredMethods())
                 .filter(it -> it.getParameterCount() == 2 && COMMAND_BUILD_CONTEXT_CLASS.isAssignableFrom(it
                     .getReturnType()) && Modifier.isStatic(it.getModifiers()))
                 .collect(Collectors.toList());
+            final Method createContextMethod;
             if (matchingFactoryMethods.size() == 1) {
                 // 1.20.5+
-                CREATE_CONTEXT_METHOD = matchingFactoryMethods.get(0);
+                createContextMethod = matchingFactoryMethods.get(0);
             } else if (matchingFactoryMethods.size() > 1) {
                 // 1.20.4 and below
-                CREATE_CONTEXT_METHOD = matchingFactoryMethods.get(1);
+                createContextMethod = matchingFactoryMethods.get(1);
             } else {
                 throw new IllegalStateException("Could not find CommandBuildContext factory method");
             }
@@ -77,66 +81,106 @@ public final class CommandBuildContextSupplier {
                     CraftBukkitReflection.findMCClass("world.level.storage.SaveData"),
                     CraftBukkitReflection.findMCClass("world.level.storage.WorldData")
             );
-            GET_WORLD_DATA_METHOD = Arrays.stream(MC_SERVER_CLASS.getDeclaredMethods())
+            final Method getWorldDataMethod = Arrays.stream(MC_SERVER_CLASS.getDeclaredMethods())
                     .filter(it -> it.getParameterCount() == 0 && !Modifier.isStatic(it.getModifiers()) && it
                             .getReturnType()
                             .equals(worldDataCls))
                     .findFirst()
                     .orElseThrow(() -> new IllegalStateException("Could not find MinecraftServer#getWorldData method"));
             final Class<?> featureFlagSetCls = CraftBukkitReflection.needMCClass("world.flag.FeatureFlagSet");
-            GET_FEATURE_FLAGS_METHOD = Arrays.stream(worldDataCls.getDeclaredMethods())
+            final Method getFeatureFlagsMethod = Arrays.stream(worldDataCls.getDeclaredMethods())
                     .filter(it -> it.getParameterCount() == 0 && it
                             .getReturnType()
                             .equals(featureFlagSetCls) && !Modifier.isStatic(it.getModifiers()))
                     .findFirst()
                     .orElseThrow(() -> new IllegalStateException("Could not find enabledFeatures method"));
+
+            COMMAND_BUILD_CONTEXT_CTR = null;
+            CREATE_CONTEXT_METHOD = CraftBukkitReflection.unreflect(
+                    createContextMethod,
+                    MethodType.methodType(Object.class, Object.class, Object.class)
+            );
+            GET_WORLD_DATA_METHOD = CraftBukkitReflection.unreflect(getWorldDataMethod, GETTER_TYPE);
+            GET_FEATURE_FLAGS_METHOD = CraftBukkitReflection.unreflect(getFeatureFlagsMethod, GETTER_TYPE);
+            REG_ACC_CLASS = createContextMethod.getParameterTypes()[0];
         } else {
+            COMMAND_BUILD_CONTEXT_CTR = CraftBukkitReflection.unreflectConstructor(ctr, GETTER_TYPE);
             CREATE_CONTEXT_METHOD = null;
             GET_WORLD_DATA_METHOD = null;
             GET_FEATURE_FLAGS_METHOD = null;
+            REG_ACC_CLASS = ctr.getParameterTypes()[0];
         }
-
-        REG_ACC_CLASS = COMMAND_BUILD_CONTEXT_CTR != null
-                ? COMMAND_BUILD_CONTEXT_CTR.getParameterTypes()[0]
-                : CREATE_CONTEXT_METHOD.getParameterTypes()[0];
     }
 
-    private static final Method GET_SERVER_METHOD;
-    private static final Method REGISTRY_ACCESS = Arrays.stream(MC_SERVER_CLASS.getDeclaredMethods())
-            .filter(m -> REG_ACC_CLASS.isAssignableFrom(m.getReturnType()))
-            .findFirst()
-            .orElseThrow(() -> new IllegalStateException("Cannot find MinecraftServer#registryAccess"));
+    private static final MethodHandle GET_SERVER_METHOD;
+    private static final MethodHandle REGISTRY_ACCESS = CraftBukkitReflection.unreflect(
+            Arrays.stream(MC_SERVER_CLASS.getDeclaredMethods())
+                    .filter(m -> REG_ACC_CLASS.isAssignableFrom(m.getReturnType()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Cannot find MinecraftServer#registryAccess")),
+            GETTER_TYPE
+    );
 
     static {
         try {
-            GET_SERVER_METHOD = MC_SERVER_CLASS.getDeclaredMethod("getServer");
+            GET_SERVER_METHOD = CraftBukkitReflection.unreflect(
+                    MC_SERVER_CLASS.getDeclaredMethod("getServer"),
+                    MethodType.methodType(Object.class)
+            );
         } catch (final NoSuchMethodException e) {
             throw new RuntimeException(e);
         }
     }
 
+    // Reused until the server's registry access or enabled features change, e.g. on datapack reload
+    private static volatile @Nullable CachedContext cached;
+
     private CommandBuildContextSupplier() {
     }
 
     public static Object commandBuildContext() {
-        if (COMMAND_BUILD_CONTEXT_CTR != null) {
-            try {
-                final Object server = GET_SERVER_METHOD.invoke(null);
-                return COMMAND_BUILD_CONTEXT_CTR.newInstance(REGISTRY_ACCESS.invoke(server));
-            } catch (final ReflectiveOperationException e) {
-                throw new RuntimeException(e);
-            }
-        } else if (CREATE_CONTEXT_METHOD != null && GET_WORLD_DATA_METHOD != null && GET_FEATURE_FLAGS_METHOD != null) {
-            try {
-                final Object server = GET_SERVER_METHOD.invoke(null);
-                final Object worldData = GET_WORLD_DATA_METHOD.invoke(server);
-                final Object flags = GET_FEATURE_FLAGS_METHOD.invoke(worldData);
-                return CREATE_CONTEXT_METHOD.invoke(null, REGISTRY_ACCESS.invoke(server), flags);
-            } catch (final ReflectiveOperationException e) {
-                throw new RuntimeException(e);
+        try {
+            final Object server = (Object) GET_SERVER_METHOD.invokeExact();
+            final Object registryAccess = (Object) REGISTRY_ACCESS.invokeExact(server);
+            final @Nullable CachedContext current = cached;
+            if (COMMAND_BUILD_CONTEXT_CTR != null) {
+                if (current != null && current.matches(registryAccess, null)) {
+                    return current.context;
+                }
+                final Object context = (Object) COMMAND_BUILD_CONTEXT_CTR.invokeExact(registryAccess);
+                cached = new CachedContext(registryAccess, null, context);
+                return context;
+            } else if (CREATE_CONTEXT_METHOD != null && GET_WORLD_DATA_METHOD != null && GET_FEATURE_FLAGS_METHOD != null) {
+                final Object worldData = (Object) GET_WORLD_DATA_METHOD.invokeExact(server);
+                final Object flags = (Object) GET_FEATURE_FLAGS_METHOD.invokeExact(worldData);
+                if (current != null && current.matches(registryAccess, flags)) {
+                    return current.context;
+                }
+                final Object context = (Object) CREATE_CONTEXT_METHOD.invokeExact(registryAccess, flags);
+                cached = new CachedContext(registryAccess, flags, context);
+                return context;
+            } else {
+                throw new IllegalStateException();
             }
-        } else {
-            throw new IllegalStateException();
+        } catch (final Throwable thr) {
+            throw CraftBukkitReflection.propagate(thr);
+        }
+    }
+
+    private static final class CachedContext {
+
+        private final Object registryAccess;
+        private final @Nullable Object featureFlags;
+        private final Object context;
+
+        CachedContext(final Object registryAccess, final @Nullable Object featureFlags, final Object context) {
+            this.registryAccess = registryAccess;
+            this.featureFlags = featureFlags;
+            this.context = context;
+        }
+
+        boolean matches(final Object registryAccess, final @Nullable Object featureFlags) {
+            return this.registryAccess == registryAccess && Objects.equals(this.featureFlags, featureFlags);
         }
     }
 }
@@ -23,6 +23,10 @@
 //
 package org.incendo.cloud.bukkit.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -235,6 +239,79 @@ public final class CraftBukkitReflection {
         return Arrays.stream(clazz.getDeclaredMethods());
     }
 
+    // MethodHandle factories. Handles are adapted to the given type, or to its erasure (all references as Object)
+    // when no type is given, so call sites can hold them in static finals and use invokeExact.
+
+    public static @NonNull MethodHandle unreflect(final @NonNull Method method) {
+        return unreflect(method, null);
+    }
+
+    public static @NonNull MethodHandle unreflect(final @NonNull Method method, final @Nullable MethodType type) {
+        try {
+            return adapt(MethodHandles.lookup().unreflect(accessible(method)), type);
+        } catch (final IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static @NonNull MethodHandle unreflectConstructor(final @NonNull Constructor<?> constructor) {
+        return unreflectConstructor(constructor, null);
+    }
+
+    public static @NonNull MethodHandle unreflectConstructor(
+            final @NonNull Constructor<?> constructor,
+            final @Nullable MethodType type
+    ) {
+        try {
+            return adapt(MethodHandles.lookup().unreflectConstructor(accessible(constructor)), type);
+        } catch (final IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static @NonNull MethodHandle unreflectGetter(final @NonNull Field field) {
+        return unreflectGetter(field, null);
+    }
+
+    public static @NonNull MethodHandle unreflectGetter(final @NonNull Field field, final @Nullable MethodType type) {
+        try {
+            return adapt(MethodHandles.lookup().unreflectGetter(accessible(field)), type);
+        } catch (final IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static @NonNull MethodHandle unreflectSetter(final @NonNull Field field, final @Nullable MethodType type) {
+        try {
+            return adapt(MethodHandles.lookup().unreflectSetter(accessible(field)), type);
+        } catch (final IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // For invokeExact call sites: returns unchecked exceptions as-is for rethrowing, wraps checked ones, throws errors
+    public static @NonNull RuntimeException propagate(final @NonNull Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new RuntimeException(throwable);
+    }
+
+    private static @NonNull MethodHandle adapt(final @NonNull MethodHandle handle, final @Nullable MethodType type) {
+        return handle.asType(type == null ? handle.type().erase() : type);
+    }
+
+    private static <T extends AccessibleObject> @NonNull T accessible(final @NonNull T object) {
+        try {
+            object.setAccessible(true);
+        } catch (final RuntimeException ignored) {
+            // Public members of exported types remain accessible
+        }
+        return object;
+    }
+
     private CraftBukkitReflection() {
     }
 }
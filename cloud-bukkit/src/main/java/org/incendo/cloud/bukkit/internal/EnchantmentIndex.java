@@ -0,0 +1,155 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bukkit.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apiguardian.api.API;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.brigadier.util.SortedNameIndex;
+
+/**
+ * Index of the registered enchantments by key, supporting exact lookups and prefix queries.
+ *
+ * <p>Enchantments in the {@code minecraft} namespace are indexed both by their plain key and their full key, others
+ * only by their full key. The index is built lazily and rebuilt after a server (re)load, or when a lookup misses and
+ * the number of registered enchantments changed.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class EnchantmentIndex {
+
+    private static final String SERVER_LOAD_EVENT = "org.bukkit.event.server.ServerLoadEvent";
+
+    private static volatile @Nullable EnchantmentIndex current;
+
+    private final SortedNameIndex<Enchantment> names;
+    private final SortedNameIndex<Enchantment> keys;
+
+    private EnchantmentIndex(final List<Enchantment> enchantments) {
+        this.names = SortedNameIndex.of(enchantments, EnchantmentIndex::name);
+        this.keys = SortedNameIndex.of(enchantments, enchantment -> enchantment.getKey().toString());
+    }
+
+    /**
+     * Returns the current index, building it if needed.
+     *
+     * @return the index
+     */
+    public static @NonNull EnchantmentIndex get() {
+        final @Nullable EnchantmentIndex index = current;
+        if (index != null) {
+            return index;
+        }
+        return rebuild();
+    }
+
+    /**
+     * Discards the current index, so that the next access rebuilds it.
+     */
+    public static void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Invalidates the index whenever the server finishes loading or reloading, on versions that have the
+     * {@code ServerLoadEvent}.
+     *
+     * @param plugin plugin owning the listener
+     */
+    public static void invalidateOnServerLoad(final @NonNull Plugin plugin) {
+        if (!CraftBukkitReflection.classExists(SERVER_LOAD_EVENT)) {
+            return;
+        }
+        final Class<? extends Event> eventClass = CraftBukkitReflection.needClass(SERVER_LOAD_EVENT).asSubclass(Event.class);
+        plugin.getServer().getPluginManager().registerEvent(
+                eventClass,
+                new Listener() {
+                },
+                EventPriority.MONITOR,
+                (listener, event) -> invalidate(),
+                plugin
+        );
+    }
+
+    /**
+     * Looks up an enchantment by its plain key (in the {@code minecraft} namespace) or its full key.
+     *
+     * @param input plain or namespaced key
+     * @return the enchantment, or {@code null}
+     */
+    public static @Nullable Enchantment lookup(final @NonNull String input) {
+        final EnchantmentIndex index = get();
+        final @Nullable Enchantment enchantment = index.find(input);
+        if (enchantment != null) {
+            return enchantment;
+        }
+        // Enchantments registered after the index was built
+        if (Enchantment.values().length != index.keys.size()) {
+            return rebuild().find(input);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the suggestion names starting with {@code prefix}. Plain keys are matched unless the prefix
+     * contains a namespace separator.
+     *
+     * @param prefix prefix
+     * @return matching names
+     */
+    public @NonNull List<@NonNull String> namesWithPrefix(final @NonNull String prefix) {
+        if (prefix.indexOf(':') >= 0) {
+            return this.keys.namesWithPrefix(prefix);
+        }
+        return this.names.namesWithPrefix(prefix);
+    }
+
+    private @Nullable Enchantment find(final String input) {
+        if (input.indexOf(':') >= 0) {
+            return this.keys.get(input);
+        }
+        return this.names.get(input);
+    }
+
+    private static EnchantmentIndex rebuild() {
+        final EnchantmentIndex index = new EnchantmentIndex(Arrays.asList(Enchantment.values()));
+        current = index;
+        return index;
+    }
+
+    private static String name(final Enchantment enchantment) {
+        final NamespacedKey key = enchantment.getKey();
+        if (key.getNamespace().equals(NamespacedKey.MINECRAFT)) {
+            return key.getKey();
+        }
+        return key.toString();
+    }
+}
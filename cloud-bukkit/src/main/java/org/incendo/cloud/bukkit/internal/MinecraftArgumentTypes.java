@@ -25,6 +25,7 @@ package org.incendo.cloud.bukkit.internal;
 
 import com.google.common.base.Suppliers;
 import com.mojang.brigadier.arguments.ArgumentType;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -32,11 +33,16 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import org.apiguardian.api.API;
 import org.bukkit.NamespacedKey;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A registry of the {@link ArgumentType}s provided by Minecraft.
@@ -75,11 +81,28 @@ public final class MinecraftArgumentTypes {
         Class<? extends ArgumentType<?>> getClassByKey(@NonNull NamespacedKey key) throws IllegalArgumentException;
     }
 
+    // Argument types are registered during bootstrap, so the index is built once on first lookup, keyed by "namespace:key"
+    @SuppressWarnings("unchecked")
+    private static Map<String, Class<? extends ArgumentType<?>>> buildIndex(
+            final @NonNull Map<?, ?> byClassMap,
+            final @NonNull Function<Object, @Nullable Object> keyOf
+    ) {
+        final Map<String, Class<? extends ArgumentType<?>>> index = new HashMap<>();
+        for (final Map.Entry<?, ?> entry : byClassMap.entrySet()) {
+            final @Nullable Object key = keyOf.apply(entry.getValue());
+            if (key != null) {
+                index.put(key.toString(), (Class<? extends ArgumentType<?>>) entry.getKey());
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
     @SuppressWarnings("unchecked")
     private static final class ArgumentTypeGetterImpl implements MinecraftArgumentTypes.ArgumentTypeGetter {
 
         private final Supplier<Object> argumentRegistry;
         private final Map<?, ?> byClassMap;
+        private final Supplier<Map<String, Class<? extends ArgumentType<?>>>> index;
 
         private ArgumentTypeGetterImpl() {
             this.argumentRegistry = Suppliers.memoize(() -> RegistryReflection.registryByName("command_argument_type"));
@@ -91,10 +114,21 @@ public final class MinecraftArgumentTypes {
             } catch (final ReflectiveOperationException e) {
                 throw new RuntimeException(e);
             }
+            this.index = Suppliers.memoize(() -> {
+                final Object registry = this.argumentRegistry.get();
+                return buildIndex(this.byClassMap, info -> RegistryReflection.getKey(registry, info));
+            });
         }
 
         @Override
         public Class<? extends ArgumentType<?>> getClassByKey(final @NonNull NamespacedKey key) throws IllegalArgumentException {
+            if (RegistryReflection.REGISTRY_GET_KEY != null) {
+                final @Nullable Class<? extends ArgumentType<?>> type = this.index.get().get(key.toString());
+                if (type == null) {
+                    throw new IllegalArgumentException(key.toString());
+                }
+                return type;
+            }
             final Object argTypeInfo = RegistryReflection.get(this.argumentRegistry.get(), key.getNamespace() + ":" + key.getKey());
             for (final Map.Entry<?, ?> entry : this.byClassMap.entrySet()) {
                 if (entry.getValue() == argTypeInfo) {
@@ -111,6 +145,9 @@ public final class MinecraftArgumentTypes {
         private static final Constructor<?> MINECRAFT_KEY_CONSTRUCTOR;
         private static final Method ARGUMENT_REGISTRY_GET_BY_KEY_METHOD;
         private static final Field BY_CLASS_MAP_FIELD;
+        private static final Class<?> MINECRAFT_KEY_CLASS;
+        private static final Supplier<Optional<Map<String, Class<? extends ArgumentType<?>>>>> INDEX =
+                Suppliers.memoize(LegacyArgumentTypeGetter::buildLegacyIndex);
 
         static {
             try {
@@ -131,6 +168,7 @@ public final class MinecraftArgumentTypes {
                     );
                 }
 
+                MINECRAFT_KEY_CLASS = minecraftKey;
                 MINECRAFT_KEY_CONSTRUCTOR = minecraftKey.getConstructor(String.class, String.class);
                 MINECRAFT_KEY_CONSTRUCTOR.setAccessible(true);
 
@@ -159,8 +197,45 @@ public final class MinecraftArgumentTypes {
             }
         }
 
+        // Registry entries hold their own key, which lets the index skip the registry lookup entirely
+        private static Optional<Map<String, Class<? extends ArgumentType<?>>>> buildLegacyIndex() {
+            final Map<?, ?> byClassMap;
+            try {
+                byClassMap = (Map<?, ?>) BY_CLASS_MAP_FIELD.get(null);
+            } catch (final ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+            final @Nullable Object sample = byClassMap.values().stream().findFirst().orElse(null);
+            if (sample == null) {
+                return Optional.empty();
+            }
+            final @Nullable Field nameField = Arrays.stream(sample.getClass().getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()) && field.getType().equals(MINECRAFT_KEY_CLASS))
+                    .findFirst()
+                    .orElse(null);
+            if (nameField == null) {
+                return Optional.empty();
+            }
+            final MethodHandle getName = CraftBukkitReflection.unreflectGetter(nameField);
+            return Optional.of(buildIndex(byClassMap, entry -> {
+                try {
+                    return (Object) getName.invokeExact(entry);
+                } catch (final Throwable thr) {
+                    throw CraftBukkitReflection.propagate(thr);
+                }
+            }));
+        }
+
         @Override
         public Class<? extends ArgumentType<?>> getClassByKey(final @NonNull NamespacedKey key) throws IllegalArgumentException {
+            final Optional<Map<String, Class<? extends ArgumentType<?>>>> index = INDEX.get();
+            if (index.isPresent()) {
+                final @Nullable Class<? extends ArgumentType<?>> type = index.get().get(key.toString());
+                if (type == null) {
+                    throw new IllegalArgumentException(key.toString());
+                }
+                return type;
+            }
             try {
                 Object minecraftKey = MINECRAFT_KEY_CONSTRUCTOR.newInstance(key.getNamespace(), key.getKey());
                 Object entry = ARGUMENT_REGISTRY_GET_BY_KEY_METHOD.invoke(null, minecraftKey);
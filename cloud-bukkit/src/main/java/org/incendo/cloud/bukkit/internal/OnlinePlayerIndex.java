@@ -0,0 +1,132 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bukkit.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.apiguardian.api.API;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.brigadier.util.SortedNameIndex;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Index of online players sorted by lowercase name, maintained from join and quit events.
+ *
+ * <p>Reads are lock-free against an immutable {@link SortedNameIndex}, while updates replace it with a copy. Prefix
+ * queries are answered with two binary searches, so only the matching players are visited.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class OnlinePlayerIndex implements Listener {
+
+    /**
+     * Key used to store the index of the owning command manager in the command context.
+     */
+    public static final CloudKey<OnlinePlayerIndex> KEY = CloudKey.of("OnlinePlayerIndex", OnlinePlayerIndex.class);
+
+    private volatile SortedNameIndex<Player> players = SortedNameIndex.empty();
+
+    private OnlinePlayerIndex() {
+    }
+
+    /**
+     * Creates a new index, seeds it with the currently online players and registers its listeners.
+     *
+     * @param plugin plugin owning the listeners
+     * @return the index
+     */
+    public static @NonNull OnlinePlayerIndex create(final @NonNull Plugin plugin) {
+        final OnlinePlayerIndex index = new OnlinePlayerIndex();
+        for (final Player player : plugin.getServer().getOnlinePlayers()) {
+            index.add(player);
+        }
+        plugin.getServer().getPluginManager().registerEvents(index, plugin);
+        return index;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    void onJoin(final @NonNull PlayerJoinEvent event) {
+        this.add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    void onQuit(final @NonNull PlayerQuitEvent event) {
+        this.remove(event.getPlayer());
+    }
+
+    /**
+     * Returns the online players whose name starts with {@code prefix}, ignoring case, sorted by name.
+     *
+     * @param prefix name prefix
+     * @return matching players
+     */
+    public @NonNull List<@NonNull Player> playersWithPrefix(final @NonNull String prefix) {
+        return new ArrayList<>(this.players.valuesWithPrefix(prefix.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Returns the names of the online players whose name starts with {@code prefix}, ignoring case,
+     * that can be seen by {@code viewer}.
+     *
+     * @param viewer viewer, visibility is only checked if the viewer is a player
+     * @param prefix name prefix
+     * @return matching names
+     */
+    public @NonNull List<@NonNull String> visibleNamesWithPrefix(
+            final @Nullable CommandSender viewer,
+            final @NonNull String prefix
+    ) {
+        final List<Player> players = this.players.valuesWithPrefix(prefix.toLowerCase(Locale.ROOT));
+        final @Nullable Player viewingPlayer = viewer instanceof Player ? (Player) viewer : null;
+        final List<String> names = new ArrayList<>(players.size());
+        for (final Player player : players) {
+            if (viewingPlayer != null && !viewingPlayer.canSee(player)) {
+                continue;
+            }
+            names.add(player.getName());
+        }
+        return names;
+    }
+
+    private synchronized void add(final @NonNull Player player) {
+        this.players = this.players.with(player.getName().toLowerCase(Locale.ROOT), player);
+    }
+
+    private synchronized void remove(final @NonNull Player player) {
+        // Only remove the entry if it still belongs to this player, a player with the same name may have joined since
+        this.players = this.players.without(
+                player.getName().toLowerCase(Locale.ROOT),
+                indexed -> indexed.getUniqueId().equals(player.getUniqueId())
+        );
+    }
+}
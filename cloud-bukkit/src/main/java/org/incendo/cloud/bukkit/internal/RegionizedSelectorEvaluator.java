@@ -0,0 +1,68 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bukkit.internal;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.bukkit.entity.Entity;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Evaluates multi-entity selectors on servers where entities are owned by different regions, by running the selection
+ * in each region and merging the results.
+ *
+ * <p>When an evaluator is stored in the command context under {@link #KEY}, the selector parsers use it for
+ * selectors without a result limit or sort order, instead of evaluating them on the sender's scheduler only.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public interface RegionizedSelectorEvaluator {
+
+    CloudKey<RegionizedSelectorEvaluator> KEY = CloudKey.of("RegionizedSelectorEvaluator", RegionizedSelectorEvaluator.class);
+
+    /**
+     * Runs {@code regionLocalSelection} in every region that may hold matching entities, and merges the results.
+     * Entities selected in more than one region are only included once.
+     *
+     * @param commandContext       command context
+     * @param regionLocalSelection selection of the entities owned by the current region
+     * @param <T>                  entity type
+     * @return future completing with the merged selection
+     */
+    <T extends Entity> @NonNull CompletableFuture<@NonNull List<T>> evaluate(
+            @NonNull CommandContext<?> commandContext,
+            @NonNull Supplier<@NonNull List<T>> regionLocalSelection
+    );
+
+    /**
+     * Called when the result limit or sort order of a selector of {@code selectorType} cannot be read, so the selector is
+     * evaluated on the sender's scheduler only. This happens when the server does not use the Mojang field names.
+     *
+     * @param selectorType the selector class
+     */
+    void unsupportedSelector(@NonNull Class<?> selectorType);
+}
@@ -24,6 +24,8 @@
 package org.incendo.cloud.bukkit.internal;
 
 import io.leangen.geantyref.GenericTypeReflector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -45,6 +47,7 @@ public final class RegistryReflection {
     public static final @Nullable Field REGISTRY_REGISTRY;
     public static final @Nullable Method REGISTRY_GET;
     public static final @Nullable Method REGISTRY_KEY;
+    public static final @Nullable Method REGISTRY_GET_KEY;
 
     private static final Class<?> RESOURCE_LOCATION_CLASS = CraftBukkitReflection.needNMSClassOrElse(
             "MinecraftKey",
@@ -53,6 +56,11 @@ public final class RegistryReflection {
     );
     private static final @Nullable Constructor<?> RESOURCE_LOCATION_CTR;
     private static final @Nullable Method RESOURCE_LOCATION_GET;
+    private static final @Nullable MethodHandle REGISTRY_REGISTRY_GETTER;
+    private static final @Nullable MethodHandle REGISTRY_GET_HANDLE;
+    private static final @Nullable MethodHandle REGISTRY_KEY_HANDLE;
+    private static final @Nullable MethodHandle REGISTRY_GET_KEY_HANDLE;
+    private static final @Nullable MethodHandle CREATE_RESOURCE_LOCATION;
 
     private RegistryReflection() {
     }
@@ -63,8 +71,14 @@ public final class RegistryReflection {
             REGISTRY_REGISTRY = null;
             REGISTRY_GET = null;
             REGISTRY_KEY = null;
+            REGISTRY_GET_KEY = null;
             RESOURCE_LOCATION_CTR = null;
             RESOURCE_LOCATION_GET = null;
+            REGISTRY_REGISTRY_GETTER = null;
+            REGISTRY_GET_HANDLE = null;
+            REGISTRY_KEY_HANDLE = null;
+            REGISTRY_GET_KEY_HANDLE = null;
+            CREATE_RESOURCE_LOCATION = null;
         } else {
             if (RESOURCE_LOCATION_CLASS.getDeclaredConstructors().length > 1) {
                 RESOURCE_LOCATION_CTR = CraftBukkitReflection.needConstructor(
@@ -104,46 +118,73 @@ public final class RegistryReflection {
                     .filter(m -> m.getParameterCount() == 0 && m.getReturnType().equals(resourceKeyClass))
                     .findFirst()
                     .orElse(null);
+            REGISTRY_GET_KEY = Arrays.stream(registryClass.getDeclaredMethods())
+                    .filter(it -> it.getParameterCount() == 1
+                            && it.getParameterTypes()[0].equals(Object.class)
+                            && it.getReturnType().equals(resourceLocationClass)
+                            && !Modifier.isStatic(it.getModifiers()))
+                    .findFirst()
+                    .orElse(null);
+
+            final MethodType getterType = MethodType.methodType(Object.class, Object.class);
+            REGISTRY_REGISTRY_GETTER = CraftBukkitReflection.unreflectGetter(REGISTRY_REGISTRY, MethodType.methodType(Object.class));
+            REGISTRY_GET_HANDLE = CraftBukkitReflection.unreflect(
+                    REGISTRY_GET,
+                    MethodType.methodType(Object.class, Object.class, Object.class)
+            );
+            REGISTRY_KEY_HANDLE = REGISTRY_KEY == null ? null : CraftBukkitReflection.unreflect(REGISTRY_KEY, getterType);
+            REGISTRY_GET_KEY_HANDLE = REGISTRY_GET_KEY == null
+                    ? null
+                    : CraftBukkitReflection.unreflect(REGISTRY_GET_KEY, MethodType.methodType(Object.class, Object.class, Object.class));
+            final MethodType factoryType = MethodType.methodType(Object.class, String.class);
+            CREATE_RESOURCE_LOCATION = RESOURCE_LOCATION_CTR != null
+                    ? CraftBukkitReflection.unreflectConstructor(RESOURCE_LOCATION_CTR, factoryType)
+                    : CraftBukkitReflection.unreflect(Objects.requireNonNull(RESOURCE_LOCATION_GET), factoryType);
         }
     }
 
     public static Object registryKey(final Object registry) {
-        Objects.requireNonNull(REGISTRY_KEY, "REGISTRY_KEY");
+        Objects.requireNonNull(REGISTRY_KEY_HANDLE, "REGISTRY_KEY");
         try {
-            return REGISTRY_KEY.invoke(registry);
-        } catch (final ReflectiveOperationException e) {
-            throw new RuntimeException(e);
+            return (Object) REGISTRY_KEY_HANDLE.invokeExact(registry);
+        } catch (final Throwable thr) {
+            throw CraftBukkitReflection.propagate(thr);
+        }
+    }
+
+    public static @Nullable Object getKey(final Object registry, final Object value) {
+        Objects.requireNonNull(REGISTRY_GET_KEY_HANDLE, "REGISTRY_GET_KEY");
+        try {
+            return (Object) REGISTRY_GET_KEY_HANDLE.invokeExact(registry, value);
+        } catch (final Throwable thr) {
+            throw CraftBukkitReflection.propagate(thr);
         }
     }
 
     public static Object get(final Object registry, final String resourceLocation) {
-        Objects.requireNonNull(REGISTRY_GET, "REGISTRY_GET");
+        Objects.requireNonNull(REGISTRY_GET_HANDLE, "REGISTRY_GET");
         try {
-            return REGISTRY_GET.invoke(registry, RegistryReflection.createResourceLocation(resourceLocation));
-        } catch (final ReflectiveOperationException e) {
-            throw new RuntimeException(e);
+            return (Object) REGISTRY_GET_HANDLE.invokeExact(registry, RegistryReflection.createResourceLocation(resourceLocation));
+        } catch (final Throwable thr) {
+            throw CraftBukkitReflection.propagate(thr);
         }
     }
 
     public static Object registryByName(final String name) {
-        Objects.requireNonNull(REGISTRY_REGISTRY, "REGISTRY_REGISTRY");
+        Objects.requireNonNull(REGISTRY_REGISTRY_GETTER, "REGISTRY_REGISTRY");
         try {
-            return get(REGISTRY_REGISTRY.get(null), name);
-        } catch (final ReflectiveOperationException e) {
-            throw new RuntimeException(e);
+            return get((Object) REGISTRY_REGISTRY_GETTER.invokeExact(), name);
+        } catch (final Throwable thr) {
+            throw CraftBukkitReflection.propagate(thr);
         }
     }
 
     public static Object createResourceLocation(final String str) {
+        Objects.requireNonNull(CREATE_RESOURCE_LOCATION, "CREATE_RESOURCE_LOCATION");
         try {
-            if (RESOURCE_LOCATION_GET == null) {
-                Objects.requireNonNull(RESOURCE_LOCATION_CTR);
-                return RESOURCE_LOCATION_CTR.newInstance(str);
-            } else {
-                return RESOURCE_LOCATION_GET.invoke(str);
-            }
-        } catch (final ReflectiveOperationException e) {
-            throw new RuntimeException(e);
+            return (Object) CREATE_RESOURCE_LOCATION.invokeExact(str);
+        } catch (final Throwable thr) {
+            throw CraftBukkitReflection.propagate(thr);
         }
     }
 
@@ -0,0 +1,215 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bukkit.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.apiguardian.api.API;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.brigadier.util.SortedNameIndex;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Index of the loaded worlds by name and key, maintained from world load and unload events.
+ *
+ * <p>The name and key strings of each world are computed once when it is indexed. Reads go to an immutable
+ * snapshot, which is rebuilt when a world is loaded or unloaded. Keys are only indexed on versions where
+ * {@link World} has a {@code getKey()} method.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class WorldIndex implements Listener {
+
+    /**
+     * Key used to store the index of the owning command manager in the command context.
+     */
+    public static final CloudKey<WorldIndex> KEY = CloudKey.of("WorldIndex", WorldIndex.class);
+
+    private static final @Nullable MethodHandle GET_KEY = findGetKey();
+
+    private volatile Snapshot snapshot = new Snapshot(new ArrayList<>());
+
+    private WorldIndex() {
+    }
+
+    /**
+     * Creates a new index, seeds it with the currently loaded worlds and registers its listeners.
+     *
+     * @param plugin plugin owning the listeners
+     * @return the index
+     */
+    public static @NonNull WorldIndex create(final @NonNull Plugin plugin) {
+        final WorldIndex index = new WorldIndex();
+        index.rebuild(plugin.getServer().getWorlds(), null);
+        plugin.getServer().getPluginManager().registerEvents(index, plugin);
+        return index;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    void onLoad(final @NonNull WorldLoadEvent event) {
+        this.rebuild(event.getWorld().getServer().getWorlds(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    void onUnload(final @NonNull WorldUnloadEvent event) {
+        // The world is only removed from the server after the event
+        this.rebuild(event.getWorld().getServer().getWorlds(), event.getWorld());
+    }
+
+    /**
+     * Returns the names of the loaded worlds starting with {@code prefix}, ignoring case, sorted by name.
+     *
+     * @param prefix name prefix
+     * @return matching names
+     */
+    public @NonNull List<@NonNull String> namesWithPrefix(final @NonNull String prefix) {
+        final List<Entry> entries = this.snapshot.names.valuesWithPrefix(prefix.toLowerCase(Locale.ROOT));
+        final List<String> names = new ArrayList<>(entries.size());
+        for (final Entry entry : entries) {
+            names.add(entry.name);
+        }
+        return names;
+    }
+
+    /**
+     * Returns the world with the given namespaced key, or with the given key in the {@code minecraft} namespace
+     * if {@code input} has no namespace.
+     *
+     * @param input namespaced or plain key
+     * @return the world, or {@code null}
+     */
+    public @Nullable World byKey(final @NonNull String input) {
+        final Snapshot snapshot = this.snapshot;
+        final @Nullable Entry entry = input.indexOf(':') >= 0 ? snapshot.keys.get(input) : snapshot.shortKeys.get(input);
+        return entry == null ? null : entry.world;
+    }
+
+    /**
+     * Returns the namespaced keys of the loaded worlds starting with {@code prefix}, sorted.
+     *
+     * @param prefix key prefix
+     * @return matching keys
+     */
+    public @NonNull List<@NonNull String> keysWithPrefix(final @NonNull String prefix) {
+        return this.snapshot.keys.namesWithPrefix(prefix);
+    }
+
+    /**
+     * Returns the plain keys of the loaded worlds in the {@code minecraft} namespace starting with {@code prefix}, sorted.
+     *
+     * @param prefix key prefix
+     * @return matching keys
+     */
+    public @NonNull List<@NonNull String> shortKeysWithPrefix(final @NonNull String prefix) {
+        return this.snapshot.shortKeys.namesWithPrefix(prefix);
+    }
+
+    private synchronized void rebuild(final @NonNull List<World> worlds, final @Nullable World removed) {
+        final List<Entry> entries = new ArrayList<>(worlds.size());
+        for (final World world : worlds) {
+            if (world != removed) {
+                entries.add(new Entry(world));
+            }
+        }
+        this.snapshot = new Snapshot(entries);
+    }
+
+    private static @Nullable MethodHandle findGetKey() {
+        final @Nullable Method getKey = CraftBukkitReflection.findMethod(World.class, "getKey");
+        if (getKey == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(getKey).asType(MethodType.methodType(Object.class, World.class));
+        } catch (final IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+
+    private static final class Entry {
+
+        private final World world;
+        private final String name;
+        private final @Nullable String key;
+        private final @Nullable String shortKey;
+
+        private Entry(final World world) {
+            this.world = world;
+            this.name = world.getName();
+            final @Nullable NamespacedKey namespacedKey = key(world);
+            this.key = namespacedKey == null ? null : namespacedKey.toString();
+            this.shortKey = namespacedKey != null && namespacedKey.getNamespace().equals(NamespacedKey.MINECRAFT)
+                    ? namespacedKey.getKey()
+                    : null;
+        }
+
+        private static @Nullable NamespacedKey key(final World world) {
+            if (GET_KEY == null) {
+                return null;
+            }
+            try {
+                return (NamespacedKey) (Object) GET_KEY.invokeExact(world);
+            } catch (final Throwable thr) {
+                return null;
+            }
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final SortedNameIndex<Entry> names;
+        private final SortedNameIndex<Entry> keys;
+        private final SortedNameIndex<Entry> shortKeys;
+
+        private Snapshot(final List<Entry> entries) {
+            this.names = SortedNameIndex.of(entries, entry -> entry.name.toLowerCase(Locale.ROOT));
+            final List<Entry> keyed = new ArrayList<>(entries.size());
+            final List<Entry> shortKeyed = new ArrayList<>(entries.size());
+            for (final Entry entry : entries) {
+                if (entry.key != null) {
+                    keyed.add(entry);
+                }
+                if (entry.shortKey != null) {
+                    shortKeyed.add(entry);
+                }
+            }
+            this.keys = SortedNameIndex.of(keyed, entry -> entry.key);
+            this.shortKeys = SortedNameIndex.of(shortKeyed, entry -> entry.shortKey);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bukkit.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.apiguardian.api.API;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
+import org.incendo.cloud.bukkit.internal.OnlinePlayerIndex;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.incendo.cloud.parser.ParserDescriptor;
+import org.incendo.cloud.suggestion.BlockingSuggestionProvider;
+
+/**
+ * Non-blocking parser type that parses into {@link OfflinePlayer}.
+ *
+ * <p>Unlike {@link OfflinePlayerParser}, this parser never calls {@link Bukkit#getOfflinePlayer(String)} on the
+ * parsing thread. Names are first looked up in a {@link NameCache}, and cache misses are resolved by a
+ * {@link Resolver} on the configured {@link Executor}. Failures are reported as
+ * {@link OfflinePlayerParser.OfflinePlayerParseException}.</p>
+ *
+ * @param <C> command sender type
+ * @since 2.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+public final class AsyncOfflinePlayerParser<C> implements ArgumentParser.FutureArgumentParser<C, OfflinePlayer>,
+        BlockingSuggestionProvider.Strings<C> {
+
+    /**
+     * Creates a new async offline player parser.
+     *
+     * @param cache    name cache consulted before the resolver
+     * @param resolver resolver used for names missing from the cache
+     * @param executor executor the resolver is invoked on
+     * @param <C>      command sender type
+     * @return the created parser
+     * @since 2.0.0
+     */
+    public static <C> @NonNull ParserDescriptor<C, OfflinePlayer> asyncOfflinePlayerParser(
+            final @NonNull NameCache cache,
+            final @NonNull Resolver resolver,
+            final @NonNull Executor executor
+    ) {
+        return ParserDescriptor.of(new AsyncOfflinePlayerParser<>(cache, resolver, executor), OfflinePlayer.class);
+    }
+
+    /**
+     * Returns a {@link CommandComponent.Builder} using
+     * {@link #asyncOfflinePlayerParser(NameCache, Resolver, Executor)} as the parser.
+     *
+     * @param cache    name cache consulted before the resolver
+     * @param resolver resolver used for names missing from the cache
+     * @param executor executor the resolver is invoked on
+     * @param <C>      the command sender type
+     * @return the component builder
+     * @since 2.0.0
+     */
+    public static <C> CommandComponent.@NonNull Builder<C, OfflinePlayer> asyncOfflinePlayerComponent(
+            final @NonNull NameCache cache,
+            final @NonNull Resolver resolver,
+            final @NonNull Executor executor
+    ) {
+        return CommandComponent.<C, OfflinePlayer>builder().parser(asyncOfflinePlayerParser(cache, resolver, executor));
+    }
+
+    private final NameCache cache;
+    private final Resolver resolver;
+    private final Executor executor;
+
+    private AsyncOfflinePlayerParser(
+            final @NonNull NameCache cache,
+            final @NonNull Resolver resolver,
+            final @NonNull Executor executor
+    ) {
+        this.cache = cache;
+        this.resolver = resolver;
+        this.executor = executor;
+    }
+
+    @Override
+    public @NonNull CompletableFuture<@NonNull ArgumentParseResult<OfflinePlayer>> parseFuture(
+            final @NonNull CommandContext<C> commandContext,
+            final @NonNull CommandInput commandInput
+    ) {
+        final String input = commandInput.readString();
+        if (input.length() > 16) {
+            return ArgumentParseResult.failureFuture(new OfflinePlayerParser.OfflinePlayerParseException(input, commandContext));
+        }
+
+        final UUID cached = this.cache.get(input);
+        if (cached != null) {
+            return ArgumentParseResult.successFuture(Bukkit.getOfflinePlayer(cached));
+        }
+
+        return CompletableFuture.<ArgumentParseResult<OfflinePlayer>>supplyAsync(() -> {
+            final UUID uuid;
+            try {
+                uuid = this.resolver.resolve(input);
+            } catch (final Exception e) {
+                return ArgumentParseResult.failure(new OfflinePlayerParser.OfflinePlayerParseException(input, commandContext));
+            }
+            if (uuid == null) {
+                return ArgumentParseResult.failure(new OfflinePlayerParser.OfflinePlayerParseException(input, commandContext));
+            }
+            this.cache.put(input, uuid);
+            return ArgumentParseResult.success(Bukkit.getOfflinePlayer(uuid));
+        }, this.executor);
+    }
+
+    @Override
+    public @NonNull Iterable<@NonNull String> stringSuggestions(
+            final @NonNull CommandContext<C> commandContext,
+            final @NonNull CommandInput input
+    ) {
+        final CommandSender bukkit = commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER);
+        final OnlinePlayerIndex index = commandContext.getOrDefault(OnlinePlayerIndex.KEY, null);
+        if (index != null) {
+            return index.visibleNamesWithPrefix(bukkit, input.peekString());
+        }
+        return Bukkit.getOnlinePlayers().stream()
+                .filter(player -> !(bukkit instanceof Player && !((Player) bukkit).canSee(player)))
+                .map(Player::getName)
+                .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Resolves player names that are not present in the {@link NameCache}. Resolvers are always invoked on the executor
+     * passed to the parser, and may therefore block.
+     *
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    @FunctionalInterface
+    public interface Resolver {
+
+        /**
+         * Returns a resolver delegating to {@link Bukkit#getOfflinePlayer(String)}, which may perform a profile lookup.
+         *
+         * @return the resolver
+         */
+        @SuppressWarnings("deprecation")
+        static @NonNull Resolver bukkit() {
+            return name -> Bukkit.getOfflinePlayer(name).getUniqueId();
+        }
+
+        /**
+         * Returns a resolver backed by a {@link Properties} file mapping player names to UUIDs, i.e.
+         * {@code Notch=069a79f4-44e9-4726-a5be-fca90e38aaf5}. Names are matched ignoring case.
+         *
+         * <p>The file is read on every resolution, which makes this resolver a stand-in for local testing
+         * rather than a production lookup.</p>
+         *
+         * @param file properties file
+         * @return the resolver
+         */
+        static @NonNull Resolver file(final @NonNull Path file) {
+            return name -> {
+                final Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                for (final String key : properties.stringPropertyNames()) {
+                    if (key.equalsIgnoreCase(name)) {
+                        return UUID.fromString(properties.getProperty(key).trim());
+                    }
+                }
+                return null;
+            };
+        }
+
+        /**
+         * Resolves the UUID of the player with the given name.
+         *
+         * @param name player name
+         * @return the UUID, or {@code null} if no such player exists
+         * @throws IOException if the lookup fails
+         */
+        @Nullable UUID resolve(@NonNull String name) throws IOException;
+    }
+
+
+    /**
+     * Bounded, least-recently-used cache of player names to UUIDs. The cache is seeded from
+     * {@link Bukkit#getOfflinePlayers()} on creation and updated whenever a player joins.
+     *
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    public static final class NameCache implements Listener {
+
+        private final Map<String, UUID> entries;
+
+        private NameCache(final int maximumSize) {
+            this.entries = new LinkedHashMap<String, UUID>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, UUID> eldest) {
+                    return this.size() > maximumSize;
+                }
+            };
+        }
+
+        /**
+         * Creates a new cache, seeds it with known offline players and registers its join listener.
+         *
+         * @param plugin      plugin owning the listener
+         * @param maximumSize maximum number of cached names
+         * @return the cache
+         */
+        public static @NonNull NameCache create(final @NonNull Plugin plugin, final int maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("maximumSize must be positive, was " + maximumSize);
+            }
+            final NameCache cache = new NameCache(maximumSize);
+            for (final OfflinePlayer player : plugin.getServer().getOfflinePlayers()) {
+                final String name = player.getName();
+                if (name != null) {
+                    cache.put(name, player.getUniqueId());
+                }
+            }
+            plugin.getServer().getPluginManager().registerEvents(cache, plugin);
+            return cache;
+        }
+
+        /**
+         * Returns the cached UUID for the player name, ignoring case.
+         *
+         * @param name player name
+         * @return the UUID, or {@code null} if not cached
+         */
+        public synchronized @Nullable UUID get(final @NonNull String name) {
+            return this.entries.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Caches the UUID for the player name.
+         *
+         * @param name player name
+         * @param uuid player UUID
+         */
+        public synchronized void put(final @NonNull String name, final @NonNull UUID uuid) {
+            this.entries.put(name.toLowerCase(Locale.ROOT), uuid);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        void onJoin(final @NonNull PlayerJoinEvent event) {
+            this.put(event.getPlayer().getName(), event.getPlayer().getUniqueId());
+        }
+    }
+}
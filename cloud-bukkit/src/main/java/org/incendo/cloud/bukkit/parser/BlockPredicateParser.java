@@ -25,14 +25,23 @@ package org.incendo.cloud.bukkit.parser;
 
 import com.google.common.base.Suppliers;
 import com.mojang.brigadier.arguments.ArgumentType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import org.apiguardian.api.API;
 import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -121,26 +130,109 @@ public final class BlockPredicateParser<C> implements ArgumentParser.FutureArgum
             CraftBukkitReflection.findMCClass("core.BlockPosition"),
             CraftBukkitReflection.findMCClass("core.BlockPos")
     );
-    private static final Constructor<?> BLOCK_POSITION_CTR =
-            CraftBukkitReflection.needConstructor(BLOCK_POSITION_CLASS, int.class, int.class, int.class);
-    private static final Constructor<?> SHAPE_DETECTOR_BLOCK_CTR = CraftBukkitReflection
-            .needConstructor(SHAPE_DETECTOR_BLOCK_CLASS, LEVEL_READER_CLASS, BLOCK_POSITION_CLASS, boolean.class);
-    private static final Method GET_HANDLE_METHOD = CraftBukkitReflection.needMethod(CRAFT_WORLD_CLASS, "getHandle");
-    private static final @Nullable Method CREATE_PREDICATE_METHOD = CraftBukkitReflection.firstNonNullOrNull(
-            CraftBukkitReflection.findMethod(ARGUMENT_BLOCK_PREDICATE_RESULT_CLASS, "create", TAG_CONTAINER_CLASS),
-            CraftBukkitReflection.findMethod(ARGUMENT_BLOCK_PREDICATE_RESULT_CLASS, "a", TAG_CONTAINER_CLASS)
+    private static final MethodHandle NEW_BLOCK_POSITION = CraftBukkitReflection.unreflectConstructor(
+            CraftBukkitReflection.needConstructor(BLOCK_POSITION_CLASS, int.class, int.class, int.class),
+            MethodType.methodType(Object.class, int.class, int.class, int.class)
     );
-    private static final Method GET_SERVER_METHOD = CraftBukkitReflection.streamMethods(COMMAND_LISTENER_WRAPPER_CLASS)
-            .filter(it -> it.getReturnType().equals(MINECRAFT_SERVER_CLASS) && it.getParameterCount() == 0)
-            .findFirst()
-            .orElseThrow(() -> new IllegalStateException("Could not find CommandSourceStack#getServer."));
-    private static final @Nullable Method GET_TAG_REGISTRY_METHOD = CraftBukkitReflection.firstNonNullOrNull(
-            CraftBukkitReflection.findMethod(MINECRAFT_SERVER_CLASS, "getTagRegistry"),
-            CraftBukkitReflection.findMethod(MINECRAFT_SERVER_CLASS, "getTags"),
-            CraftBukkitReflection.streamMethods(MINECRAFT_SERVER_CLASS)
-                    .filter(it -> it.getReturnType().equals(TAG_CONTAINER_CLASS) && it.getParameterCount() == 0)
+    private static final MethodHandle NEW_SHAPE_DETECTOR_BLOCK = CraftBukkitReflection.unreflectConstructor(
+            CraftBukkitReflection.needConstructor(SHAPE_DETECTOR_BLOCK_CLASS, LEVEL_READER_CLASS, BLOCK_POSITION_CLASS, boolean.class),
+            MethodType.methodType(Object.class, Object.class, Object.class, boolean.class)
+    );
+    private static final MethodHandle GET_HANDLE = CraftBukkitReflection.unreflect(
+            CraftBukkitReflection.needMethod(CRAFT_WORLD_CLASS, "getHandle"),
+            MethodType.methodType(Object.class, World.class)
+    );
+    private static final @Nullable MethodHandle NEW_MUTABLE_BLOCK_POSITION;
+    private static final @Nullable MethodHandle SET_MUTABLE_BLOCK_POSITION;
+
+    static {
+        // Only the Mojang-mapped setter can be told apart from the other (int, int, int) mutators,
+        // elsewhere an immutable position is allocated per tested block
+        final @Nullable Class<?> mutableBlockPositionClass = CraftBukkitReflection.firstNonNullOrNull(
+                CraftBukkitReflection.findMCClass("core.BlockPos$MutableBlockPos"),
+                CraftBukkitReflection.findMCClass("core.BlockPosition$MutableBlockPosition"),
+                CraftBukkitReflection.findNMSClass("BlockPosition$MutableBlockPosition")
+        );
+        final @Nullable Method set = mutableBlockPositionClass == null
+                ? null
+                : CraftBukkitReflection.findMethod(mutableBlockPositionClass, "set", int.class, int.class, int.class);
+        if (set == null || set.getReturnType() != mutableBlockPositionClass) {
+            NEW_MUTABLE_BLOCK_POSITION = null;
+            SET_MUTABLE_BLOCK_POSITION = null;
+        } else {
+            NEW_MUTABLE_BLOCK_POSITION = CraftBukkitReflection.unreflectConstructor(
+                    CraftBukkitReflection.needConstructor(mutableBlockPositionClass),
+                    MethodType.methodType(Object.class)
+            );
+            SET_MUTABLE_BLOCK_POSITION = CraftBukkitReflection.unreflect(
+                    set,
+                    MethodType.methodType(Object.class, Object.class, int.class, int.class, int.class)
+            );
+        }
+    }
+
+    private static final @Nullable Class<?> COMPOUND_TAG_CLASS = CraftBukkitReflection.firstNonNullOrNull(
+            CraftBukkitReflection.findMCClass("nbt.CompoundTag"),
+            CraftBukkitReflection.findMCClass("nbt.NBTTagCompound"),
+            CraftBukkitReflection.findNMSClass("NBTTagCompound")
+    );
+    private static final @Nullable Class<?> BLOCK_STATE_CLASS = CraftBukkitReflection.firstNonNullOrNull(
+            CraftBukkitReflection.findMCClass("world.level.block.state.BlockState"),
+            CraftBukkitReflection.findMCClass("world.level.block.state.IBlockData"),
+            CraftBukkitReflection.findNMSClass("IBlockData")
+    );
+    // Reads the block state straight from the level, without a CraftBlock and CraftBlockData per position
+    private static final @Nullable MethodHandle GET_BLOCK_STATE = unreflectOrNull(
+            findGetBlockState(),
+            MethodType.methodType(Object.class, Object.class, Object.class)
+    );
+
+    // Getter for the NBT component of vanilla block and tag predicates, empty when the predicate type is unknown
+    private static final ClassValue<Optional<MethodHandle>> NBT_GETTER = new ClassValue<Optional<MethodHandle>>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(final Class<?> type) {
+            if (COMPOUND_TAG_CLASS == null) {
+                return Optional.empty();
+            }
+            for (final Field field : type.getDeclaredFields()) {
+                if (field.getType() != COMPOUND_TAG_CLASS || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                try {
+                    return Optional.of(CraftBukkitReflection.unreflectGetter(field));
+                } catch (final RuntimeException ex) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.empty();
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final @Nullable MethodHandle CREATE_PREDICATE = unreflectOrNull(
+            CraftBukkitReflection.firstNonNullOrNull(
+                    CraftBukkitReflection.findMethod(ARGUMENT_BLOCK_PREDICATE_RESULT_CLASS, "create", TAG_CONTAINER_CLASS),
+                    CraftBukkitReflection.findMethod(ARGUMENT_BLOCK_PREDICATE_RESULT_CLASS, "a", TAG_CONTAINER_CLASS)
+            ),
+            MethodType.methodType(Predicate.class, Object.class, Object.class)
+    );
+    private static final MethodHandle GET_SERVER = CraftBukkitReflection.unreflect(
+            CraftBukkitReflection.streamMethods(COMMAND_LISTENER_WRAPPER_CLASS)
+                    .filter(it -> it.getReturnType().equals(MINECRAFT_SERVER_CLASS) && it.getParameterCount() == 0)
                     .findFirst()
-                    .orElse(null)
+                    .orElseThrow(() -> new IllegalStateException("Could not find CommandSourceStack#getServer.")),
+            GETTER_TYPE
+    );
+    private static final @Nullable MethodHandle GET_TAG_REGISTRY = unreflectOrNull(
+            CraftBukkitReflection.firstNonNullOrNull(
+                    CraftBukkitReflection.findMethod(MINECRAFT_SERVER_CLASS, "getTagRegistry"),
+                    CraftBukkitReflection.findMethod(MINECRAFT_SERVER_CLASS, "getTags"),
+                    CraftBukkitReflection.streamMethods(MINECRAFT_SERVER_CLASS)
+                            .filter(it -> it.getReturnType().equals(TAG_CONTAINER_CLASS) && it.getParameterCount() == 0)
+                            .findFirst()
+                            .orElse(null)
+            ),
+            GETTER_TYPE
     );
 
     /**
@@ -199,19 +291,19 @@ public final class BlockPredicateParser<C> implements ArgumentParser.FutureArgum
                 return ArgumentParseResult.successFuture(new BlockPredicateImpl((Predicate<Object>) result));
             }
             final Object commandSourceStack = ctx.get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER);
+            Objects.requireNonNull(CREATE_PREDICATE, "create on BlockPredicateArgument$Result");
             try {
-                final Object server = GET_SERVER_METHOD.invoke(commandSourceStack);
+                final Object server = (Object) GET_SERVER.invokeExact(commandSourceStack);
                 final Object obj;
-                if (GET_TAG_REGISTRY_METHOD != null) {
-                    obj = GET_TAG_REGISTRY_METHOD.invoke(server);
+                if (GET_TAG_REGISTRY != null) {
+                    obj = (Object) GET_TAG_REGISTRY.invokeExact(server);
                 } else {
                     obj = RegistryReflection.registryByName("block");
                 }
-                Objects.requireNonNull(CREATE_PREDICATE_METHOD, "create on BlockPredicateArgument$Result");
-                final Predicate<Object> predicate = (Predicate<Object>) CREATE_PREDICATE_METHOD.invoke(result, obj);
+                final Predicate<Object> predicate = (Predicate<Object>) CREATE_PREDICATE.invokeExact(result, obj);
                 return ArgumentParseResult.successFuture(new BlockPredicateImpl(predicate));
-            } catch (final ReflectiveOperationException ex) {
-                throw new RuntimeException(ex);
+            } catch (final Throwable thr) {
+                throw CraftBukkitReflection.propagate(thr);
             }
         });
     }
@@ -241,32 +333,140 @@ public final class BlockPredicateParser<C> implements ArgumentParser.FutureArgum
     }
 
 
+    private static @Nullable Method findGetBlockState() {
+        if (BLOCK_STATE_CLASS == null) {
+            return null;
+        }
+        @Nullable Method found = null;
+        for (final Method method : LEVEL_READER_CLASS.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())
+                    || method.getReturnType() != BLOCK_STATE_CLASS
+                    || method.getParameterCount() != 1
+                    || method.getParameterTypes()[0] != BLOCK_POSITION_CLASS
+                    // Paper's variant returns null for unloaded chunks, loading is decided by the caller
+                    || method.getName().endsWith("IfLoaded")) {
+                continue;
+            }
+            if (method.getName().equals("getBlockState")) {
+                return method;
+            }
+            if (found != null) {
+                // Obfuscated and ambiguous
+                return null;
+            }
+            found = method;
+        }
+        return found;
+    }
+
+    private static @Nullable MethodHandle unreflectOrNull(final @Nullable Method method, final @NonNull MethodType type) {
+        return method == null ? null : CraftBukkitReflection.unreflect(method, type);
+    }
+
+
     private static final class BlockPredicateImpl implements BlockPredicate {
 
         private final Predicate<Object> predicate;
+        // Without an NBT component the outcome depends on the block state alone
+        private final boolean memoizable;
 
         BlockPredicateImpl(final @NonNull Predicate<Object> predicate) {
             this.predicate = predicate;
+            this.memoizable = GET_BLOCK_STATE != null && !hasNbt(predicate);
+        }
+
+        private static boolean hasNbt(final @NonNull Object predicate) {
+            final @Nullable MethodHandle getter = NBT_GETTER.get(predicate.getClass()).orElse(null);
+            if (getter == null) {
+                return true;
+            }
+            try {
+                return (Object) getter.invokeExact(predicate) != null;
+            } catch (final Throwable thr) {
+                throw CraftBukkitReflection.propagate(thr);
+            }
         }
 
         private boolean testImpl(final @NonNull Block block, final boolean loadChunks) {
             try {
-                final Object blockInWorld = SHAPE_DETECTOR_BLOCK_CTR.newInstance(
-                        GET_HANDLE_METHOD.invoke(block.getWorld()),
-                        BLOCK_POSITION_CTR.newInstance(block.getX(), block.getY(), block.getZ()),
+                final Object blockInWorld = (Object) NEW_SHAPE_DETECTOR_BLOCK.invokeExact(
+                        (Object) GET_HANDLE.invokeExact(block.getWorld()),
+                        (Object) NEW_BLOCK_POSITION.invokeExact(block.getX(), block.getY(), block.getZ()),
                         loadChunks
                 );
                 return this.predicate.test(blockInWorld);
-            } catch (final ReflectiveOperationException ex) {
-                throw new RuntimeException(ex);
+            } catch (final Throwable thr) {
+                throw CraftBukkitReflection.propagate(thr);
             }
         }
 
+        private @NonNull BitSet testAllImpl(final @NonNull World world, final int @NonNull [] xyz, final boolean loadChunks) {
+            if (xyz.length % 3 != 0) {
+                throw new IllegalArgumentException("Coordinate array length must be a multiple of 3, was " + xyz.length);
+            }
+            final BitSet result = new BitSet(xyz.length / 3);
+            final Scanner scanner = new Scanner(world, loadChunks);
+            for (int i = 0; i < xyz.length; i += 3) {
+                if (scanner.test(xyz[i], xyz[i + 1], xyz[i + 2])) {
+                    result.set(i / 3);
+                }
+            }
+            return result;
+        }
+
+        private @NonNull BitSet testRegionImpl(
+                final @NonNull World world,
+                final int minX,
+                final int minY,
+                final int minZ,
+                final int maxX,
+                final int maxY,
+                final int maxZ,
+                final boolean loadChunks
+        ) {
+            final long volume = ((long) maxX - minX + 1) * ((long) maxY - minY + 1) * ((long) maxZ - minZ + 1);
+            if (minX > maxX || minY > maxY || minZ > maxZ || volume > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid region volume " + volume);
+            }
+            final BitSet result = new BitSet((int) volume);
+            final Scanner scanner = new Scanner(world, loadChunks);
+            int index = 0;
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int x = minX; x <= maxX; x++) {
+                        if (scanner.test(x, y, z)) {
+                            result.set(index);
+                        }
+                        index++;
+                    }
+                }
+            }
+            return result;
+        }
+
         @Override
         public boolean test(final @NonNull Block block) {
             return this.testImpl(block, false);
         }
 
+        @Override
+        public @NonNull BitSet testAll(final @NonNull World world, final int @NonNull [] xyz) {
+            return this.testAllImpl(world, xyz, false);
+        }
+
+        @Override
+        public @NonNull BitSet testRegion(
+                final @NonNull World world,
+                final int minX,
+                final int minY,
+                final int minZ,
+                final int maxX,
+                final int maxY,
+                final int maxZ
+        ) {
+            return this.testRegionImpl(world, minX, minY, minZ, maxX, maxY, maxZ, false);
+        }
+
         @Override
         public @NonNull BlockPredicate loadChunks() {
             return new BlockPredicate() {
@@ -279,7 +479,86 @@ public final class BlockPredicateParser<C> implements ArgumentParser.FutureArgum
                 public boolean test(final Block block) {
                     return BlockPredicateImpl.this.testImpl(block, true);
                 }
+
+                @Override
+                public @NonNull BitSet testAll(final @NonNull World world, final int @NonNull [] xyz) {
+                    return BlockPredicateImpl.this.testAllImpl(world, xyz, true);
+                }
+
+                @Override
+                public @NonNull BitSet testRegion(
+                        final @NonNull World world,
+                        final int minX,
+                        final int minY,
+                        final int minZ,
+                        final int maxX,
+                        final int maxY,
+                        final int maxZ
+                ) {
+                    return BlockPredicateImpl.this.testRegionImpl(world, minX, minY, minZ, maxX, maxY, maxZ, true);
+                }
             };
         }
+
+        // Shares the level handle, a mutable position and per-block-state outcomes across one bulk call
+        private final class Scanner {
+
+            private final World world;
+            private final boolean loadChunks;
+            private final Object level;
+            private final @Nullable Object mutablePosition;
+            private final @Nullable Map<Object, Boolean> outcomes;
+
+            Scanner(final @NonNull World world, final boolean loadChunks) {
+                this.world = world;
+                this.loadChunks = loadChunks;
+                try {
+                    this.level = (Object) GET_HANDLE.invokeExact(world);
+                    this.mutablePosition = NEW_MUTABLE_BLOCK_POSITION == null
+                            ? null
+                            : (Object) NEW_MUTABLE_BLOCK_POSITION.invokeExact();
+                } catch (final Throwable thr) {
+                    throw CraftBukkitReflection.propagate(thr);
+                }
+                // Block states are canonical instances
+                this.outcomes = BlockPredicateImpl.this.memoizable ? new IdentityHashMap<>() : null;
+            }
+
+            boolean test(final int x, final int y, final int z) {
+                if (!this.loadChunks && !this.world.isChunkLoaded(x >> 4, z >> 4)) {
+                    return false;
+                }
+                try {
+                    if (this.outcomes == null) {
+                        return this.testUncached(x, y, z);
+                    }
+                    final Object state = (Object) GET_BLOCK_STATE.invokeExact(this.level, this.position(x, y, z));
+                    Boolean outcome = this.outcomes.get(state);
+                    if (outcome == null) {
+                        outcome = this.testUncached(x, y, z);
+                        this.outcomes.put(state, outcome);
+                    }
+                    return outcome;
+                } catch (final Throwable thr) {
+                    throw CraftBukkitReflection.propagate(thr);
+                }
+            }
+
+            private Object position(final int x, final int y, final int z) throws Throwable {
+                if (this.mutablePosition == null) {
+                    return (Object) NEW_BLOCK_POSITION.invokeExact(x, y, z);
+                }
+                return (Object) SET_MUTABLE_BLOCK_POSITION.invokeExact(this.mutablePosition, x, y, z);
+            }
+
+            private boolean testUncached(final int x, final int y, final int z) throws Throwable {
+                final Object blockInWorld = (Object) NEW_SHAPE_DETECTOR_BLOCK.invokeExact(
+                        this.level,
+                        this.position(x, y, z),
+                        this.loadChunks
+                );
+                return BlockPredicateImpl.this.predicate.test(blockInWorld);
+            }
+        }
     }
 }
@@ -23,13 +23,13 @@
 //
 package org.incendo.cloud.bukkit.parser;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Locale;
 import org.apiguardian.api.API;
-import org.bukkit.NamespacedKey;
 import org.bukkit.enchantments.Enchantment;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.bukkit.BukkitCaptionKeys;
+import org.incendo.cloud.bukkit.internal.EnchantmentIndex;
 import org.incendo.cloud.caption.CaptionVariable;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
@@ -68,25 +68,12 @@ public final class EnchantmentParser<C> implements ArgumentParser<C, Enchantment
     }
 
     @Override
-    @SuppressWarnings("deprecation")
     public @NonNull ArgumentParseResult<Enchantment> parse(
             final @NonNull CommandContext<C> commandContext,
             final @NonNull CommandInput commandInput
     ) {
-        final String input = commandInput.peekString();
-
-        final NamespacedKey key;
-        try {
-            if (input.contains(":")) {
-                key = new NamespacedKey(commandInput.readUntilAndSkip(':'), commandInput.readString());
-            } else {
-                key = NamespacedKey.minecraft(commandInput.readString());
-            }
-        } catch (final Exception ex) {
-            return ArgumentParseResult.failure(new EnchantmentParseException(input, commandContext));
-        }
-
-        final Enchantment enchantment = Enchantment.getByKey(key);
+        final String input = commandInput.readString();
+        final @Nullable Enchantment enchantment = EnchantmentIndex.lookup(input);
         if (enchantment == null) {
             return ArgumentParseResult.failure(new EnchantmentParseException(input, commandContext));
         }
@@ -96,15 +83,7 @@ public final class EnchantmentParser<C> implements ArgumentParser<C, Enchantment
     @Override
     public @NonNull Iterable<@NonNull String> stringSuggestions(final @NonNull CommandContext<C> commandContext,
                                                                 final @NonNull CommandInput input) {
-        final List<String> completions = new ArrayList<>();
-        for (Enchantment value : Enchantment.values()) {
-            if (value.getKey().getNamespace().equals(NamespacedKey.MINECRAFT)) {
-                completions.add(value.getKey().getKey());
-            } else {
-                completions.add(value.getKey().toString());
-            }
-        }
-        return completions;
+        return EnchantmentIndex.get().namesWithPrefix(input.peekString().toLowerCase(Locale.ROOT));
     }
 
 
@@ -26,20 +26,18 @@ package org.incendo.cloud.bukkit.parser;
 import com.google.common.base.Suppliers;
 import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
@@ -153,33 +151,54 @@ public class ItemStackParser<C> implements ArgumentParser.FutureArgumentParser<C
                 "Item",
                 "net.minecraft.world.item.Item"
         );
-        private static final Supplier<Method> GET_MATERIAL_METHOD = Suppliers.memoize(() -> CraftBukkitReflection
-                .needMethod(CraftBukkitReflection.needOBCClass("util.CraftMagicNumbers"), "getMaterial", NMS_ITEM_CLASS));
-        private static final Method CREATE_ITEM_STACK_METHOD = CraftBukkitReflection.firstNonNullOrThrow(
-                () -> "Couldn't find createItemStack method on ItemInput",
-                CraftBukkitReflection.findMethod(ITEM_INPUT_CLASS, "a", int.class, boolean.class),
-                CraftBukkitReflection.findMethod(ITEM_INPUT_CLASS, "createItemStack", int.class, boolean.class)
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final Supplier<MethodHandle> GET_MATERIAL = Suppliers.memoize(() -> CraftBukkitReflection.unreflect(
+                CraftBukkitReflection.needMethod(
+                        CraftBukkitReflection.needOBCClass("util.CraftMagicNumbers"),
+                        "getMaterial",
+                        NMS_ITEM_CLASS
+                ),
+                GETTER_TYPE
+        ));
+        private static final MethodHandle CREATE_ITEM_STACK = CraftBukkitReflection.unreflect(
+                CraftBukkitReflection.firstNonNullOrThrow(
+                        () -> "Couldn't find createItemStack method on ItemInput",
+                        CraftBukkitReflection.findMethod(ITEM_INPUT_CLASS, "a", int.class, boolean.class),
+                        CraftBukkitReflection.findMethod(ITEM_INPUT_CLASS, "createItemStack", int.class, boolean.class)
+                ),
+                MethodType.methodType(Object.class, Object.class, int.class, boolean.class)
         );
-        private static final Method AS_BUKKIT_COPY_METHOD = CraftBukkitReflection
-                .needMethod(CRAFT_ITEM_STACK_CLASS, "asBukkitCopy", NMS_ITEM_STACK_CLASS);
-        private static final Field ITEM_FIELD = CraftBukkitReflection.firstNonNullOrThrow(
-                () -> "Couldn't find item field on ItemInput",
-                CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "b"),
-                CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "item")
+        private static final MethodHandle AS_BUKKIT_COPY = CraftBukkitReflection.unreflect(
+                CraftBukkitReflection.needMethod(CRAFT_ITEM_STACK_CLASS, "asBukkitCopy", NMS_ITEM_STACK_CLASS),
+                MethodType.methodType(ItemStack.class, Object.class)
         );
-        private static final Field EXTRA_DATA_FIELD = CraftBukkitReflection.firstNonNullOrThrow(
-                () -> "Couldn't find tag field on ItemInput",
-                CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "c"),
-                CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "tag"),
-                CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "components")
+        private static final MethodHandle GET_ITEM = CraftBukkitReflection.unreflectGetter(
+                CraftBukkitReflection.firstNonNullOrThrow(
+                        () -> "Couldn't find item field on ItemInput",
+                        CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "b"),
+                        CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "item")
+                ),
+                GETTER_TYPE
+        );
+        private static final MethodHandle GET_EXTRA_DATA = CraftBukkitReflection.unreflectGetter(
+                CraftBukkitReflection.firstNonNullOrThrow(
+                        () -> "Couldn't find tag field on ItemInput",
+                        CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "c"),
+                        CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "tag"),
+                        CraftBukkitReflection.findField(ITEM_INPUT_CLASS, "components")
+                ),
+                GETTER_TYPE
         );
         private static final Class<?> HOLDER_CLASS = CraftBukkitReflection.findMCClass("core.Holder");
-        private static final @Nullable Method VALUE_METHOD = HOLDER_CLASS == null
+        private static final @Nullable MethodHandle HOLDER_VALUE = HOLDER_CLASS == null
                 ? null
-                : CraftBukkitReflection.firstNonNullOrThrow(
-                        () -> "Couldn't find Holder#value",
-                        CraftBukkitReflection.findMethod(HOLDER_CLASS, "value"),
-                        CraftBukkitReflection.findMethod(HOLDER_CLASS, "a")
+                : CraftBukkitReflection.unreflect(
+                        CraftBukkitReflection.firstNonNullOrThrow(
+                                () -> "Couldn't find Holder#value",
+                                CraftBukkitReflection.findMethod(HOLDER_CLASS, "value"),
+                                CraftBukkitReflection.findMethod(HOLDER_CLASS, "a")
+                        ),
+                        GETTER_TYPE
                 );
         private static final Class<?> NBT_TAG_CLASS = CraftBukkitReflection.firstNonNullOrThrow(
             () -> "Cloud not find net.minecraft.nbt.Tag",
@@ -187,6 +206,24 @@ public class ItemStackParser<C> implements ArgumentParser.FutureArgumentParser<C
             CraftBukkitReflection.findClass("net.minecraft.nbt.NBTBase"),
             CraftBukkitReflection.findNMSClass("NBTBase")
         );
+        // DataComponentMap/Patch#isEmpty, resolved once per implementation class
+        private static final ClassValue<MethodHandle> IS_EMPTY = new ClassValue<MethodHandle>() {
+            @Override
+            protected MethodHandle computeValue(final Class<?> type) {
+                @Nullable Method isEmpty = null;
+                int candidates = 0;
+                for (final Method method : type.getMethods()) {
+                    if (method.getParameterCount() == 0 && method.getReturnType().equals(boolean.class)) {
+                        isEmpty = method;
+                        candidates++;
+                    }
+                }
+                if (candidates != 1) {
+                    throw new IllegalStateException("Failed to locate DataComponentMap/Patch#isEmpty; size=" + candidates);
+                }
+                return CraftBukkitReflection.unreflect(isEmpty, MethodType.methodType(boolean.class, Object.class));
+            }
+        };
 
         private final ArgumentParser<C, ProtoItemStack> parser;
 
@@ -228,64 +265,64 @@ public class ItemStackParser<C> implements ArgumentParser.FutureArgumentParser<C
             return this.parser.suggestionProvider();
         }
 
-
         private static final class ModernProtoItemStack implements ProtoItemStack {
 
             private final Object itemInput;
-            private final Material material;
-            private final boolean hasExtraData;
+            // Resolved lazily, racing threads compute the same values
+            private @MonotonicNonNull Material material;
+            private @MonotonicNonNull Boolean hasExtraData;
 
             ModernProtoItemStack(final @NonNull Object itemInput) {
                 this.itemInput = itemInput;
-                try {
-                    Object item = ITEM_FIELD.get(itemInput);
-                    if (HOLDER_CLASS != null && HOLDER_CLASS.isInstance(item)) {
-                        item = VALUE_METHOD.invoke(item);
-                    }
-                    this.material = (Material) GET_MATERIAL_METHOD.get().invoke(null, item);
-                    final Object extraData = EXTRA_DATA_FIELD.get(itemInput);
-                    if (NBT_TAG_CLASS.isInstance(extraData) || extraData == null) {
-                        this.hasExtraData = extraData != null;
-                    } else {
-                        final List<Method> isEmptyMethod = Arrays.stream(extraData.getClass().getMethods())
-                            .filter(it -> it.getParameterCount() == 0 && it.getReturnType().equals(boolean.class))
-                            .collect(Collectors.toList());
-                        if (isEmptyMethod.size() != 1) {
-                            throw new IllegalStateException(
-                                "Failed to locate DataComponentMap/Patch#isEmpty; size=" + isEmptyMethod.size());
-                        }
-                        this.hasExtraData = !(boolean) isEmptyMethod.get(0).invoke(extraData);
-                    }
-                } catch (final ReflectiveOperationException ex) {
-                    throw new RuntimeException(ex);
-                }
             }
 
             @Override
             public @NonNull Material material() {
-                return this.material;
+                Material material = this.material;
+                if (material == null) {
+                    try {
+                        Object item = (Object) GET_ITEM.invokeExact(this.itemInput);
+                        if (HOLDER_VALUE != null && HOLDER_CLASS.isInstance(item)) {
+                            item = (Object) HOLDER_VALUE.invokeExact(item);
+                        }
+                        material = (Material) (Object) GET_MATERIAL.get().invokeExact(item);
+                    } catch (final Throwable thr) {
+                        throw CraftBukkitReflection.propagate(thr);
+                    }
+                    this.material = material;
+                }
+                return material;
             }
 
             @Override
             public boolean hasExtraData() {
-                return this.hasExtraData;
+                Boolean hasExtraData = this.hasExtraData;
+                if (hasExtraData == null) {
+                    try {
+                        final Object extraData = (Object) GET_EXTRA_DATA.invokeExact(this.itemInput);
+                        if (extraData == null || NBT_TAG_CLASS.isInstance(extraData)) {
+                            hasExtraData = extraData != null;
+                        } else {
+                            hasExtraData = !(boolean) IS_EMPTY.get(extraData.getClass()).invokeExact(extraData);
+                        }
+                    } catch (final Throwable thr) {
+                        throw CraftBukkitReflection.propagate(thr);
+                    }
+                    this.hasExtraData = hasExtraData;
+                }
+                return hasExtraData;
             }
 
             @Override
             public @NonNull ItemStack createItemStack(final int stackSize, final boolean respectMaximumStackSize) {
                 try {
-                    return (ItemStack) AS_BUKKIT_COPY_METHOD.invoke(
-                            null,
-                            CREATE_ITEM_STACK_METHOD.invoke(this.itemInput, stackSize, respectMaximumStackSize)
+                    return (ItemStack) AS_BUKKIT_COPY.invokeExact(
+                            (Object) CREATE_ITEM_STACK.invokeExact(this.itemInput, stackSize, respectMaximumStackSize)
                     );
-                } catch (final InvocationTargetException ex) {
-                    final Throwable cause = ex.getCause();
-                    if (cause instanceof CommandSyntaxException) {
-                        throw new IllegalArgumentException(cause.getMessage(), cause);
-                    }
-                    throw new RuntimeException(ex);
-                } catch (final ReflectiveOperationException e) {
-                    throw new RuntimeException(e);
+                } catch (final CommandSyntaxException ex) {
+                    throw new IllegalArgumentException(ex.getMessage(), ex);
+                } catch (final Throwable thr) {
+                    throw CraftBukkitReflection.propagate(thr);
                 }
             }
         }
@@ -308,10 +345,7 @@ public class ItemStackParser<C> implements ArgumentParser.FutureArgumentParser<C
         @Override
         public @NonNull Iterable<@NonNull String> stringSuggestions(final @NonNull CommandContext<C> commandContext,
                                                                     final @NonNull CommandInput input) {
-            return Arrays.stream(Material.values())
-                    .filter(Material::isItem)
-                    .map(value -> value.name().toLowerCase(Locale.ROOT))
-                    .collect(Collectors.toList());
+            return MaterialIndex.items().namesWithPrefix(input.peekString().toLowerCase(Locale.ROOT));
         }
 
         private static final class LegacyProtoItemStack implements ProtoItemStack {
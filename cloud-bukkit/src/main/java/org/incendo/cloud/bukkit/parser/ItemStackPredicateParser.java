@@ -26,15 +26,24 @@ package org.incendo.cloud.bukkit.parser;
 import com.google.common.base.Suppliers;
 import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.context.StringRange;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import org.apiguardian.api.API;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
 import org.bukkit.inventory.ItemStack;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -75,22 +84,42 @@ public final class ItemStackPredicateParser<C> implements ArgumentParser.FutureA
             CraftBukkitReflection.findMCClass("commands.arguments.item.ArgumentItemPredicate$b"),
             CraftBukkitReflection.findMCClass("commands.arguments.item.ItemPredicateArgument$Result")
     );
-    private static final @Nullable Method CREATE_PREDICATE_METHOD = ARGUMENT_ITEM_PREDICATE_RESULT_CLASS == null
-            ? null
-            : CraftBukkitReflection.firstNonNullOrNull(
-                    CraftBukkitReflection.findMethod(
-                            ARGUMENT_ITEM_PREDICATE_RESULT_CLASS,
-                            "create",
-                            com.mojang.brigadier.context.CommandContext.class
-                    ),
-                    CraftBukkitReflection.findMethod(
-                            ARGUMENT_ITEM_PREDICATE_RESULT_CLASS,
-                            "a",
-                            com.mojang.brigadier.context.CommandContext.class
-                    )
-            );
-    private static final Method AS_NMS_COPY_METHOD =
-            CraftBukkitReflection.needMethod(CRAFT_ITEM_STACK_CLASS, "asNMSCopy", ItemStack.class);
+    private static final @Nullable MethodHandle CREATE_PREDICATE;
+
+    static {
+        final @Nullable Method createPredicate = ARGUMENT_ITEM_PREDICATE_RESULT_CLASS == null
+                ? null
+                : CraftBukkitReflection.firstNonNullOrNull(
+                        CraftBukkitReflection.findMethod(
+                                ARGUMENT_ITEM_PREDICATE_RESULT_CLASS,
+                                "create",
+                                com.mojang.brigadier.context.CommandContext.class
+                        ),
+                        CraftBukkitReflection.findMethod(
+                                ARGUMENT_ITEM_PREDICATE_RESULT_CLASS,
+                                "a",
+                                com.mojang.brigadier.context.CommandContext.class
+                        )
+                );
+        CREATE_PREDICATE = createPredicate == null
+                ? null
+                : CraftBukkitReflection.unreflect(
+                        createPredicate,
+                        MethodType.methodType(Predicate.class, Object.class, com.mojang.brigadier.context.CommandContext.class)
+                );
+    }
+
+    private static final MethodHandle AS_NMS_COPY = CraftBukkitReflection.unreflect(
+            CraftBukkitReflection.needMethod(CRAFT_ITEM_STACK_CLASS, "asNMSCopy", ItemStack.class),
+            MethodType.methodType(Object.class, ItemStack.class)
+    );
+    private static final @Nullable MethodHandle GET_HANDLE;
+
+    static {
+        // CraftItemStack mirrors (such as inventory contents) can be tested without copying
+        final @Nullable Field handle = CraftBukkitReflection.findField(CRAFT_ITEM_STACK_CLASS, "handle");
+        GET_HANDLE = handle == null ? null : CraftBukkitReflection.unreflectGetter(handle);
+    }
 
     /**
      * Creates a new item stack predicate parser.
@@ -150,12 +179,12 @@ public final class ItemStackPredicateParser<C> implements ArgumentParser.FutureA
             }
             final Object commandSourceStack = ctx.get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER);
             final com.mojang.brigadier.context.CommandContext<Object> dummy = createDummyContext(ctx, commandSourceStack);
-            Objects.requireNonNull(CREATE_PREDICATE_METHOD, "ItemPredicateArgument$Result#create");
+            Objects.requireNonNull(CREATE_PREDICATE, "ItemPredicateArgument$Result#create");
             try {
-                final Predicate<Object> predicate = (Predicate<Object>) CREATE_PREDICATE_METHOD.invoke(result, dummy);
+                final Predicate<Object> predicate = (Predicate<Object>) CREATE_PREDICATE.invokeExact(result, dummy);
                 return ArgumentParseResult.successFuture(new ItemStackPredicateImpl(predicate));
-            } catch (final ReflectiveOperationException ex) {
-                throw new RuntimeException(ex);
+            } catch (final Throwable thr) {
+                throw CraftBukkitReflection.propagate(thr);
             }
         });
     }
@@ -194,7 +223,14 @@ public final class ItemStackPredicateParser<C> implements ArgumentParser.FutureA
             final @NonNull CommandContext<@NonNull C> commandContext,
             final @NonNull CommandInput commandInput
     ) {
-        return this.parser.parseFuture(commandContext, commandInput);
+        final @Nullable MaterialFilter materialFilter = MaterialFilter.of(commandInput.peekString());
+        return this.parser.parseFuture(commandContext, commandInput).thenApply(result -> {
+            final @Nullable ItemStackPredicate predicate = result.parsedValue().orElse(null);
+            if (materialFilter == null || !(predicate instanceof ItemStackPredicateImpl)) {
+                return result;
+            }
+            return ArgumentParseResult.success(((ItemStackPredicateImpl) predicate).withMaterialFilter(materialFilter));
+        });
     }
 
     @Override
@@ -206,18 +242,125 @@ public final class ItemStackPredicateParser<C> implements ArgumentParser.FutureA
     private static final class ItemStackPredicateImpl implements ItemStackPredicate {
 
         private final Predicate<Object> predicate;
+        private final @Nullable MaterialFilter materialFilter;
 
         ItemStackPredicateImpl(final @NonNull Predicate<Object> predicate) {
+            this(predicate, null);
+        }
+
+        private ItemStackPredicateImpl(
+                final @NonNull Predicate<Object> predicate,
+                final @Nullable MaterialFilter materialFilter
+        ) {
             this.predicate = predicate;
+            this.materialFilter = materialFilter;
+        }
+
+        @NonNull ItemStackPredicateImpl withMaterialFilter(final @NonNull MaterialFilter materialFilter) {
+            return new ItemStackPredicateImpl(this.predicate, materialFilter);
         }
 
         @Override
         public boolean test(final @NonNull ItemStack itemStack) {
+            if (this.materialFilter != null && !this.materialFilter.accepts(itemStack.getType())) {
+                return false;
+            }
+            return this.testHandle(itemStack);
+        }
+
+        @Override
+        public @NonNull BitSet testAll(final @NonNull Iterable<? extends @Nullable ItemStack> itemStacks) {
+            final @Nullable Set<Material> materials = this.materialFilter == null ? null : this.materialFilter.materials();
+            final BitSet result = new BitSet();
+            int index = 0;
+            for (final ItemStack itemStack : itemStacks) {
+                if (itemStack != null
+                        && (materials == null || materials.contains(itemStack.getType()))
+                        && this.testHandle(itemStack)) {
+                    result.set(index);
+                }
+                index++;
+            }
+            return result;
+        }
+
+        private boolean testHandle(final @NonNull ItemStack itemStack) {
             try {
-                return this.predicate.test(AS_NMS_COPY_METHOD.invoke(null, itemStack));
-            } catch (final ReflectiveOperationException ex) {
-                throw new RuntimeException(ex);
+                @Nullable Object handle = null;
+                if (GET_HANDLE != null && CRAFT_ITEM_STACK_CLASS.isInstance(itemStack)) {
+                    handle = (Object) GET_HANDLE.invokeExact((Object) itemStack);
+                }
+                if (handle == null) {
+                    handle = (Object) AS_NMS_COPY.invokeExact(itemStack);
+                }
+                return this.predicate.test(handle);
+            } catch (final Throwable thr) {
+                throw CraftBukkitReflection.propagate(thr);
+            }
+        }
+    }
+
+    // The materials a predicate can match at most, derived from the item type or tag leading its input
+    private static final class MaterialFilter {
+
+        private final @Nullable Material material;
+        private final @Nullable NamespacedKey tag;
+
+        private MaterialFilter(final @Nullable Material material, final @Nullable NamespacedKey tag) {
+            this.material = material;
+            this.tag = tag;
+        }
+
+        @SuppressWarnings("deprecation")
+        static @Nullable MaterialFilter of(final @NonNull String input) {
+            int end = 0;
+            while (end < input.length() && input.charAt(end) != '[' && input.charAt(end) != '{') {
+                end++;
+            }
+            final boolean isTag = input.startsWith("#");
+            final String id = input.substring(isTag ? 1 : 0, Math.max(end, isTag ? 1 : 0));
+            final int separator = id.indexOf(':');
+            final String namespace = separator == -1 ? NamespacedKey.MINECRAFT : id.substring(0, separator);
+            final String key = id.substring(separator + 1);
+            if (isTag) {
+                try {
+                    return new MaterialFilter(null, new NamespacedKey(namespace, key));
+                } catch (final IllegalArgumentException ex) {
+                    return null;
+                }
             }
+            // Wildcards and non-vanilla items cannot be mapped to a material
+            if (!NamespacedKey.MINECRAFT.equals(namespace) || key.isEmpty()) {
+                return null;
+            }
+            final @Nullable Material material = Material.matchMaterial(key);
+            return material == null ? null : new MaterialFilter(material, null);
+        }
+
+        boolean accepts(final @NonNull Material material) {
+            if (this.material != null) {
+                return this.material == material;
+            }
+            final @Nullable Tag<Material> tag = this.tag();
+            return tag == null || tag.isTagged(material);
+        }
+
+        // null when any material may match; tags are resolved per call as they may be reloaded
+        @Nullable Set<Material> materials() {
+            if (this.material != null) {
+                return EnumSet.of(this.material);
+            }
+            final @Nullable Tag<Material> tag = this.tag();
+            if (tag == null) {
+                return null;
+            }
+            final Set<Material> materials = EnumSet.noneOf(Material.class);
+            materials.addAll(tag.getValues());
+            return materials;
+        }
+
+        private @Nullable Tag<Material> tag() {
+            return this.tag == null ? null : Bukkit.getTag(Tag.REGISTRY_ITEMS, this.tag, Material.class);
         }
     }
 }
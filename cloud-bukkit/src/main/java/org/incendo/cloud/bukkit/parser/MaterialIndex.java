@@ -0,0 +1,73 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bukkit.parser;
+
+import com.google.common.base.Suppliers;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.bukkit.Material;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.brigadier.util.SortedNameIndex;
+
+/**
+ * Lazily built lowercase name indexes of {@link Material} values, shared between {@link MaterialParser}
+ * and {@link ItemStackParser}.
+ */
+final class MaterialIndex {
+
+    private static final Supplier<SortedNameIndex<Material>> ALL = Suppliers.memoize(() ->
+            SortedNameIndex.of(Arrays.asList(Material.values()), MaterialIndex::name));
+    private static final Supplier<SortedNameIndex<Material>> ITEMS = Suppliers.memoize(() ->
+            SortedNameIndex.of(
+                    Arrays.stream(Material.values()).filter(Material::isItem).collect(Collectors.toList()),
+                    MaterialIndex::name
+            ));
+
+    private MaterialIndex() {
+    }
+
+    /**
+     * Returns the index of all materials.
+     *
+     * @return material index
+     */
+    static @NonNull SortedNameIndex<Material> all() {
+        return ALL.get();
+    }
+
+    /**
+     * Returns the index of materials that are items.
+     *
+     * @return item material index
+     */
+    static @NonNull SortedNameIndex<Material> items() {
+        return ITEMS.get();
+    }
+
+    private static @NonNull String name(final @NonNull Material material) {
+        return material.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -23,9 +23,9 @@
 //
 package org.incendo.cloud.bukkit.parser;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.bukkit.Material;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -73,12 +73,11 @@ public final class MaterialParser<C> implements ArgumentParser<C, Material>, Blo
             final @NonNull CommandInput commandInput
     ) {
         final String input = commandInput.readString();
-        try {
-            final Material material = Material.valueOf(input.toUpperCase(Locale.ROOT));
-            return ArgumentParseResult.success(material);
-        } catch (final IllegalArgumentException exception) {
+        final Material material = MaterialIndex.all().get(input.toLowerCase(Locale.ROOT));
+        if (material == null) {
             return ArgumentParseResult.failure(new MaterialParseException(input, commandContext));
         }
+        return ArgumentParseResult.success(material);
     }
 
     @Override
@@ -86,11 +85,12 @@ public final class MaterialParser<C> implements ArgumentParser<C, Material>, Blo
             final @NonNull CommandContext<C> commandContext,
             final @NonNull CommandInput input
     ) {
-        return Arrays.stream(Material.values())
-                .map(Material::name)
-                .map(String::toLowerCase)
-                .map(Suggestion::suggestion)
-                .collect(Collectors.toList());
+        final List<String> names = MaterialIndex.all().namesWithPrefix(input.peekString().toLowerCase(Locale.ROOT));
+        final List<Suggestion> suggestions = new ArrayList<>(names.size());
+        for (final String name : names) {
+            suggestions.add(Suggestion.suggestion(name));
+        }
+        return suggestions;
     }
 
 
@@ -114,6 +114,16 @@ public final class NamespacedKeyParser<C> implements ArgumentParser<C, Namespace
         return CommandComponent.<C, NamespacedKey>builder().parser(namespacedKeyParser());
     }
 
+    /* Result of scan for a valid key without a namespace, error codes are below it */
+    static final int NO_SEPARATOR = -1;
+    static final int TOO_MANY_SEPARATORS = -2;
+    static final int INVALID_NAMESPACE = -3;
+    static final int INVALID_KEY = -4;
+    static final int INVALID_UNQUALIFIED_KEY = -5;
+
+    // NamespacedKey rejects keys of 256 characters or more
+    private static final int MAX_LENGTH = 255;
+
     private final boolean requireExplicitNamespace;
     private final String defaultNamespace;
 
@@ -139,46 +149,101 @@ public final class NamespacedKeyParser<C> implements ArgumentParser<C, Namespace
             final @NonNull CommandInput commandInput
     ) {
         final String input = commandInput.peekString();
-        final String[] split = input.split(":");
-        final int maxSemi = split.length > 1 ? 1 : 0;
-        if (input.length() - input.replace(":", "").length() > maxSemi) {
-            // Wrong number of ':'
+        final int separator = scan(input);
+        if (separator < NO_SEPARATOR || (separator == NO_SEPARATOR && this.requireExplicitNamespace)) {
+            return ArgumentParseResult.failure(new NamespacedKeyParseException(
+                    this.errorCaption(separator),
+                    input,
+                    commandContext
+            ));
+        }
+        final int length = separator == NO_SEPARATOR ? this.defaultNamespace.length() + 1 + input.length() : input.length();
+        if (length > MAX_LENGTH) {
             return ArgumentParseResult.failure(new NamespacedKeyParseException(
                     BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY, input, commandContext
             ));
         }
+
+        final NamespacedKey ret;
         try {
-            final NamespacedKey ret;
-            if (split.length == 1) {
-                if (this.requireExplicitNamespace) {
-                    // Did not provide explicit namespace when option was enabled
-                    return ArgumentParseResult.failure(new NamespacedKeyParseException(
-                            BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NEED_NAMESPACE, input, commandContext
-                    ));
-                }
-                ret = new NamespacedKey(this.defaultNamespace, commandInput.readString());
-            } else if (split.length == 2) {
-                ret = new NamespacedKey(commandInput.readUntilAndSkip(':'), commandInput.readString());
+            if (separator == NO_SEPARATOR) {
+                ret = new NamespacedKey(this.defaultNamespace, input);
             } else {
-                // Too many parts, ie not:valid:input
-                return ArgumentParseResult.failure(new NamespacedKeyParseException(
-                        BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY, input, commandContext
-                ));
+                ret = new NamespacedKey(input.substring(0, separator), input.substring(separator + 1));
             }
-
-            // Success!
-            return ArgumentParseResult.success(ret);
         } catch (final IllegalArgumentException ex) {
-            final Caption caption = ex.getMessage().contains("namespace") // stupid but works
-                    ? BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NAMESPACE
-                    // this will also get used if someone puts >256 chars
-                    : BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY;
+            // The input was validated above, so only an invalid default namespace can get here
             return ArgumentParseResult.failure(new NamespacedKeyParseException(
-                    caption,
-                    input,
-                    commandContext
+                    BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NAMESPACE, input, commandContext
             ));
         }
+        commandInput.readString();
+        return ArgumentParseResult.success(ret);
+    }
+
+    private Caption errorCaption(final int code) {
+        switch (code) {
+            case NO_SEPARATOR:
+                return BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NEED_NAMESPACE;
+            case INVALID_NAMESPACE:
+                return BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NAMESPACE;
+            case INVALID_UNQUALIFIED_KEY:
+                // Missing the namespace is the more useful error when it's required
+                return this.requireExplicitNamespace
+                        ? BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NEED_NAMESPACE
+                        : BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY;
+            default:
+                return BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY;
+        }
+    }
+
+    /**
+     * Validates {@code input} as a (possibly unqualified) namespaced key in a single pass.
+     *
+     * @param input input
+     * @return the index of the {@code :} separator, {@link #NO_SEPARATOR} for a valid key without a namespace,
+     *     or one of the negative error codes
+     */
+    static int scan(final @NonNull String input) {
+        int separator = NO_SEPARATOR;
+        boolean invalidNamespace = false;
+        boolean invalidKey = false;
+        for (int i = 0; i < input.length(); i++) {
+            final char c = input.charAt(i);
+            if (c == ':') {
+                if (separator != NO_SEPARATOR) {
+                    return TOO_MANY_SEPARATORS;
+                }
+                separator = i;
+                // Everything read so far was the namespace
+                invalidNamespace |= invalidKey;
+                invalidKey = false;
+            } else if (separator == NO_SEPARATOR) {
+                // Could still be either part
+                invalidNamespace |= c == '/';
+                invalidKey |= !isKeyChar(c);
+            } else {
+                invalidKey |= !isKeyChar(c);
+            }
+        }
+        if (separator == NO_SEPARATOR) {
+            return invalidKey || input.isEmpty() ? INVALID_UNQUALIFIED_KEY : NO_SEPARATOR;
+        }
+        if (invalidNamespace || separator == 0) {
+            return INVALID_NAMESPACE;
+        }
+        if (invalidKey || separator == input.length() - 1) {
+            return INVALID_KEY;
+        }
+        return separator;
+    }
+
+    private static boolean isKeyChar(final char c) {
+        return isNamespaceChar(c) || c == '/';
+    }
+
+    private static boolean isNamespaceChar(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.' || c == '_' || c == '-';
     }
 
     @Override
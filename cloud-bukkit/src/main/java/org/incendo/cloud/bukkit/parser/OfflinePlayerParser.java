@@ -32,6 +32,7 @@ import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.bukkit.BukkitCaptionKeys;
 import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
+import org.incendo.cloud.bukkit.internal.OnlinePlayerIndex;
 import org.incendo.cloud.caption.CaptionVariable;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
@@ -103,6 +104,10 @@ public final class OfflinePlayerParser<C> implements ArgumentParser<C, OfflinePl
             final @NonNull CommandInput input
     ) {
         final CommandSender bukkit = commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER);
+        final OnlinePlayerIndex index = commandContext.getOrDefault(OnlinePlayerIndex.KEY, null);
+        if (index != null) {
+            return index.visibleNamesWithPrefix(bukkit, input.peekString());
+        }
         return Bukkit.getOnlinePlayers().stream()
                 .filter(player -> !(bukkit instanceof Player && !((Player) bukkit).canSee(player)))
                 .map(Player::getName)
@@ -23,6 +23,8 @@
 //
 package org.incendo.cloud.bukkit.parser;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.bukkit.Bukkit;
@@ -31,6 +33,7 @@ import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.bukkit.BukkitCaptionKeys;
 import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
+import org.incendo.cloud.bukkit.internal.OnlinePlayerIndex;
 import org.incendo.cloud.caption.CaptionVariable;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
@@ -91,6 +94,15 @@ public final class PlayerParser<C> implements ArgumentParser<C, Player>, Blockin
             final @NonNull CommandInput input
     ) {
         final CommandSender bukkit = commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER);
+        final OnlinePlayerIndex index = commandContext.getOrDefault(OnlinePlayerIndex.KEY, null);
+        if (index != null) {
+            final List<String> names = index.visibleNamesWithPrefix(bukkit, input.peekString());
+            final List<Suggestion> suggestions = new ArrayList<>(names.size());
+            for (final String name : names) {
+                suggestions.add(Suggestion.suggestion(name));
+            }
+            return suggestions;
+        }
         return Bukkit.getOnlinePlayers().stream()
                 .filter(player -> !(bukkit instanceof Player && !((Player) bukkit).canSee(player)))
                 .map(Player::getName)
@@ -28,7 +28,9 @@ import org.apiguardian.api.API;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.bukkit.BukkitCaptionKeys;
+import org.incendo.cloud.bukkit.internal.WorldIndex;
 import org.incendo.cloud.caption.CaptionVariable;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
@@ -82,6 +84,10 @@ public final class WorldParser<C> implements ArgumentParser<C, World>, BlockingS
     @Override
     public @NonNull Iterable<@NonNull String> stringSuggestions(final @NonNull CommandContext<C> commandContext,
                                                                 final @NonNull CommandInput input) {
+        final @Nullable WorldIndex index = commandContext.getOrDefault(WorldIndex.KEY, null);
+        if (index != null) {
+            return index.namesWithPrefix(input.peekString());
+        }
         return Bukkit.getWorlds().stream().map(World::getName).collect(Collectors.toList());
     }
 
@@ -24,12 +24,7 @@
 package org.incendo.cloud.bukkit.parser.location;
 
 import org.apiguardian.api.API;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.command.BlockCommandSender;
-import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Entity;
-import org.bukkit.util.Vector;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
 import org.incendo.cloud.component.CommandComponent;
@@ -73,8 +68,6 @@ public final class Location2DParser<C> implements ArgumentParser<C, Location2D>,
         return CommandComponent.<C, Location2D>builder().parser(location2DParser());
     }
 
-    private final LocationCoordinateParser<C> locationCoordinateParser = new LocationCoordinateParser<>();
-
     @Override
     public @NonNull ArgumentParseResult<@NonNull Location2D> parse(
             final @NonNull CommandContext<@NonNull C> commandContext,
@@ -89,40 +82,18 @@ public final class Location2DParser<C> implements ArgumentParser<C, Location2D>,
                     )
             );
         }
-        final LocationCoordinate[] coordinates = new LocationCoordinate[2];
-        for (int i = 0; i < 2; i++) {
-            if (commandInput.peekString().isEmpty()) {
-                return ArgumentParseResult.failure(
-                        new LocationParser.LocationParseException(
-                                commandContext,
-                                LocationParser.LocationParseException.FailureReason.WRONG_FORMAT,
-                                commandInput.remainingInput()
-                        )
-                );
-            }
-            final ArgumentParseResult<@NonNull LocationCoordinate> coordinate = this.locationCoordinateParser.parse(
-                    commandContext,
-                    commandInput
-            );
-            if (coordinate.failure().isPresent()) {
-                return ArgumentParseResult.failure(
-                        coordinate.failure().get()
-                );
-            }
-            coordinates[i] = coordinate.parsedValue().orElseThrow(NullPointerException::new);
-        }
-        final Location originalLocation;
-        final CommandSender bukkitSender = commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER);
 
-        if (bukkitSender instanceof BlockCommandSender) {
-            originalLocation = ((BlockCommandSender) bukkitSender).getBlock().getLocation();
-        } else if (bukkitSender instanceof Entity) {
-            originalLocation = ((Entity) bukkitSender).getLocation();
-        } else {
-            originalLocation = new Location(Bukkit.getWorlds().get(0), 0, 0, 0);
+        final double[] coordinates = new double[2];
+        final int xType = LocationParser.readCoordinate(commandInput, coordinates, 0);
+        if (xType < 0) {
+            return LocationParser.coordinateFailure(commandContext, commandInput, xType);
+        }
+        final int zType = LocationParser.readCoordinate(commandInput, coordinates, 1);
+        if (zType < 0) {
+            return LocationParser.coordinateFailure(commandContext, commandInput, zType);
         }
 
-        if (coordinates[0].type() == LocationCoordinateType.LOCAL && coordinates[1].type() != LocationCoordinateType.LOCAL) {
+        if ((xType == LocationParser.LOCAL) != (zType == LocationParser.LOCAL)) {
             return ArgumentParseResult.failure(
                     new LocationParser.LocationParseException(
                             commandContext,
@@ -132,34 +103,15 @@ public final class Location2DParser<C> implements ArgumentParser<C, Location2D>,
             );
         }
 
-        if (coordinates[0].type() == LocationCoordinateType.ABSOLUTE) {
-            originalLocation.setX(coordinates[0].coordinate());
-        } else if (coordinates[0].type() == LocationCoordinateType.RELATIVE) {
-            originalLocation.add(coordinates[0].coordinate(), 0, 0);
+        final Location location = LocationParser.origin(commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER));
+        if (xType == LocationParser.LOCAL) {
+            LocationParser.addLocal(location, coordinates[0], 0, coordinates[1]);
+            return ArgumentParseResult.success(Location2D.from(location.getWorld(), location.getX(), location.getZ()));
         }
-
-        if (coordinates[1].type() == LocationCoordinateType.ABSOLUTE) {
-            originalLocation.setZ(coordinates[1].coordinate());
-        } else if (coordinates[1].type() == LocationCoordinateType.RELATIVE) {
-            originalLocation.add(0, 0, coordinates[1].coordinate());
-        } else {
-            final Vector declaredPos = new Vector(
-                    coordinates[0].coordinate(),
-                    0,
-                    coordinates[1].coordinate()
-            );
-            final Location local = LocationParser.toLocalSpace(originalLocation, declaredPos);
-            return ArgumentParseResult.success(Location2D.from(
-                    originalLocation.getWorld(),
-                    local.getX(),
-                    local.getZ()
-            ));
-        }
-
         return ArgumentParseResult.success(Location2D.from(
-                originalLocation.getWorld(),
-                originalLocation.getX(),
-                originalLocation.getZ()
+                location.getWorld(),
+                LocationParser.resolve(xType, location.getX(), coordinates[0]),
+                LocationParser.resolve(zType, location.getZ(), coordinates[1])
         ));
     }
 
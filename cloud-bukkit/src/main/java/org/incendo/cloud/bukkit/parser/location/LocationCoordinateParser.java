@@ -38,48 +38,80 @@ import org.incendo.cloud.parser.standard.DoubleParser;
  */
 public final class LocationCoordinateParser<C> implements ArgumentParser<C, LocationCoordinate> {
 
+    /* Returned by readCoordinate when the input is not a valid coordinate */
+    static final int INVALID = -1;
+
+    private static final LocationCoordinateType[] TYPES = LocationCoordinateType.values();
+
     @Override
     public @NonNull ArgumentParseResult<@NonNull LocationCoordinate> parse(
             final @NonNull CommandContext<@NonNull C> commandContext,
             final @NonNull CommandInput commandInput
     ) {
-        final String input = commandInput.skipWhitespace().peekString();
+        final double[] coordinate = new double[1];
+        final int type = readCoordinate(commandInput, coordinate, 0);
+        if (type == INVALID) {
+            return failure(commandContext, commandInput);
+        }
+        return ArgumentParseResult.success(LocationCoordinate.of(TYPES[type], coordinate[0]));
+    }
+
+    /**
+     * Reads a single coordinate into {@code coordinates[index]}, without allocating a {@link LocationCoordinate}
+     * or parse result. The cursor is left at the start of the coordinate if it is invalid.
+     *
+     * @param commandInput command input, positioned at the coordinate
+     * @param coordinates  coordinate values
+     * @param index        index to store the coordinate value at
+     * @return the {@link LocationCoordinateType#ordinal() ordinal} of the coordinate type, or {@link #INVALID}
+     */
+    static int readCoordinate(final @NonNull CommandInput commandInput, final double @NonNull [] coordinates, final int index) {
+        final int start = commandInput.skipWhitespace().cursor();
 
         /* Determine the type */
-        final LocationCoordinateType locationCoordinateType;
+        final int type;
         if (commandInput.peek() == '^') {
-            locationCoordinateType = LocationCoordinateType.LOCAL;
+            type = LocationCoordinateType.LOCAL.ordinal();
             commandInput.moveCursor(1);
         } else if (commandInput.peek() == '~') {
-            locationCoordinateType = LocationCoordinateType.RELATIVE;
+            type = LocationCoordinateType.RELATIVE.ordinal();
             commandInput.moveCursor(1);
         } else {
-            locationCoordinateType = LocationCoordinateType.ABSOLUTE;
+            type = LocationCoordinateType.ABSOLUTE.ordinal();
         }
 
-        final double coordinate;
         try {
-            final boolean empty = commandInput.peekString().isEmpty() || commandInput.peek() == ' ';
-            coordinate = empty ? 0 : commandInput.readDouble();
+            final boolean empty = !commandInput.hasRemainingInput() || commandInput.peek() == ' ';
+            coordinates[index] = empty ? 0 : commandInput.readDouble();
             if (commandInput.hasRemainingInput()) {
                 commandInput.skipWhitespace();
             }
         } catch (final Exception e) {
-            return ArgumentParseResult.failure(new DoubleParser.DoubleParseException(
-                    input,
-                    new DoubleParser<>(
-                            DoubleParser.DEFAULT_MINIMUM,
-                            DoubleParser.DEFAULT_MAXIMUM
-                    ),
-                    commandContext
-            ));
+            commandInput.cursor(start);
+            return INVALID;
         }
+        return type;
+    }
 
-        return ArgumentParseResult.success(
-                LocationCoordinate.of(
-                        locationCoordinateType,
-                        coordinate
-                )
-        );
+    /**
+     * Creates the failure result for a coordinate that could not be read.
+     *
+     * @param commandContext command context
+     * @param commandInput   command input, positioned at the invalid coordinate
+     * @param <T>            result type
+     * @return the failure result
+     */
+    static <T> @NonNull ArgumentParseResult<T> failure(
+            final @NonNull CommandContext<?> commandContext,
+            final @NonNull CommandInput commandInput
+    ) {
+        return ArgumentParseResult.failure(new DoubleParser.DoubleParseException(
+                commandInput.peekString(),
+                new DoubleParser<>(
+                        DoubleParser.DEFAULT_MINIMUM,
+                        DoubleParser.DEFAULT_MAXIMUM
+                ),
+                commandContext
+        ));
     }
 }
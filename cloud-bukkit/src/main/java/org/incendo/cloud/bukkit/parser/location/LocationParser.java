@@ -28,10 +28,10 @@ import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.command.BlockCommandSender;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Entity;
-import org.bukkit.util.Vector;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.bukkit.BukkitCaptionKeys;
 import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
@@ -59,6 +59,12 @@ public final class LocationParser<C> implements ArgumentParser<C, Location>, Blo
 
     private static final Range<Integer> SUGGESTION_RANGE = Range.intRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
 
+    private static final int ABSOLUTE = LocationCoordinateType.ABSOLUTE.ordinal();
+    private static final int RELATIVE = LocationCoordinateType.RELATIVE.ordinal();
+    static final int LOCAL = LocationCoordinateType.LOCAL.ordinal();
+    /* Returned by readCoordinate when the input has no coordinate left */
+    private static final int MISSING_COORDINATE = -2;
+
     /**
      * Creates a new location parser.
      *
@@ -83,8 +89,6 @@ public final class LocationParser<C> implements ArgumentParser<C, Location>, Blo
         return CommandComponent.<C, Location>builder().parser(locationParser());
     }
 
-    private final LocationCoordinateParser<C> locationCoordinateParser = new LocationCoordinateParser<>();
-
     @Override
     public @NonNull ArgumentParseResult<@NonNull Location> parse(
             final @NonNull CommandContext<@NonNull C> commandContext,
@@ -100,49 +104,21 @@ public final class LocationParser<C> implements ArgumentParser<C, Location>, Blo
             );
         }
 
-        final LocationCoordinate[] coordinates = new LocationCoordinate[3];
-        for (int i = 0; i < 3; i++) {
-            if (commandInput.peekString().isEmpty()) {
-                return ArgumentParseResult.failure(
-                        new LocationParseException(
-                                commandContext,
-                                LocationParseException.FailureReason.WRONG_FORMAT,
-                                commandInput.remainingInput()
-                        )
-                );
-            }
-            final ArgumentParseResult<@NonNull LocationCoordinate> coordinate = this.locationCoordinateParser.parse(
-                    commandContext,
-                    commandInput
-            );
-            if (coordinate.failure().isPresent()) {
-                return ArgumentParseResult.failure(
-                        coordinate.failure().get()
-                );
-            }
-            coordinates[i] = coordinate.parsedValue().orElseThrow(NullPointerException::new);
+        final double[] coordinates = new double[3];
+        final int xType = readCoordinate(commandInput, coordinates, 0);
+        if (xType < 0) {
+            return coordinateFailure(commandContext, commandInput, xType);
         }
-        final Location originalLocation;
-        final CommandSender bukkitSender = commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER);
-
-        if (bukkitSender instanceof BlockCommandSender) {
-            originalLocation = ((BlockCommandSender) bukkitSender).getBlock().getLocation();
-        } else if (bukkitSender instanceof Entity) {
-            originalLocation = ((Entity) bukkitSender).getLocation();
-        } else {
-            if (Bukkit.getWorlds().isEmpty()) {
-                // For testing
-                originalLocation = new Location(null, 0, 0, 0);
-            } else {
-                originalLocation = new Location(Bukkit.getWorlds().get(0), 0, 0, 0);
-            }
+        final int yType = readCoordinate(commandInput, coordinates, 1);
+        if (yType < 0) {
+            return coordinateFailure(commandContext, commandInput, yType);
+        }
+        final int zType = readCoordinate(commandInput, coordinates, 2);
+        if (zType < 0) {
+            return coordinateFailure(commandContext, commandInput, zType);
         }
 
-        if (((coordinates[0].type() == LocationCoordinateType.LOCAL)
-                != (coordinates[1].type() == LocationCoordinateType.LOCAL))
-                || ((coordinates[0].type() == LocationCoordinateType.LOCAL)
-                != (coordinates[2].type() == LocationCoordinateType.LOCAL))
-        ) {
+        if ((xType == LOCAL) != (yType == LOCAL) || (xType == LOCAL) != (zType == LOCAL)) {
             return ArgumentParseResult.failure(
                     new LocationParseException(
                             commandContext,
@@ -152,60 +128,110 @@ public final class LocationParser<C> implements ArgumentParser<C, Location>, Blo
             );
         }
 
-        if (coordinates[0].type() == LocationCoordinateType.ABSOLUTE) {
-            originalLocation.setX(coordinates[0].coordinate());
-        } else if (coordinates[0].type() == LocationCoordinateType.RELATIVE) {
-            originalLocation.add(coordinates[0].coordinate(), 0, 0);
+        final Location location = origin(commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER));
+        if (xType == LOCAL) {
+            addLocal(location, coordinates[0], coordinates[1], coordinates[2]);
+        } else {
+            location.setX(resolve(xType, location.getX(), coordinates[0]));
+            location.setY(resolve(yType, location.getY(), coordinates[1]));
+            location.setZ(resolve(zType, location.getZ(), coordinates[2]));
         }
+        return ArgumentParseResult.success(location);
+    }
 
-        if (coordinates[1].type() == LocationCoordinateType.ABSOLUTE) {
-            originalLocation.setY(coordinates[1].coordinate());
-        } else if (coordinates[1].type() == LocationCoordinateType.RELATIVE) {
-            originalLocation.add(0, coordinates[1].coordinate(), 0);
+    /**
+     * Reads a coordinate for the location parsers.
+     *
+     * @param commandInput command input
+     * @param coordinates  coordinate values
+     * @param index        index to store the coordinate value at
+     * @return the coordinate type ordinal, {@link #MISSING_COORDINATE} or {@link LocationCoordinateParser#INVALID}
+     */
+    static int readCoordinate(final @NonNull CommandInput commandInput, final double @NonNull [] coordinates, final int index) {
+        if (!commandInput.hasRemainingInput() || Character.isWhitespace(commandInput.peek())) {
+            return MISSING_COORDINATE;
         }
+        return LocationCoordinateParser.readCoordinate(commandInput, coordinates, index);
+    }
 
-        if (coordinates[2].type() == LocationCoordinateType.ABSOLUTE) {
-            originalLocation.setZ(coordinates[2].coordinate());
-        } else if (coordinates[2].type() == LocationCoordinateType.RELATIVE) {
-            originalLocation.add(0, 0, coordinates[2].coordinate());
-        } else {
-            final Vector declaredPos = new Vector(
-                    coordinates[0].coordinate(),
-                    coordinates[1].coordinate(),
-                    coordinates[2].coordinate()
-            );
-            return ArgumentParseResult.success(
-                    toLocalSpace(originalLocation, declaredPos)
+    /**
+     * Creates the failure result for a coordinate that {@link #readCoordinate(CommandInput, double[], int)}
+     * could not read.
+     *
+     * @param commandContext command context
+     * @param commandInput   command input
+     * @param failure        failure code
+     * @param <T>            result type
+     * @return the failure result
+     */
+    static <T> @NonNull ArgumentParseResult<T> coordinateFailure(
+            final @NonNull CommandContext<?> commandContext,
+            final @NonNull CommandInput commandInput,
+            final int failure
+    ) {
+        if (failure == MISSING_COORDINATE) {
+            return ArgumentParseResult.failure(
+                    new LocationParseException(
+                            commandContext,
+                            LocationParseException.FailureReason.WRONG_FORMAT,
+                            commandInput.remainingInput()
+                    )
             );
         }
-
-        return ArgumentParseResult.success(
-                originalLocation
-        );
+        return LocationCoordinateParser.failure(commandContext, commandInput);
     }
 
-    static @NonNull Location toLocalSpace(final @NonNull Location originalLocation, final @NonNull Vector declaredPos) {
-        final double cosYaw = Math.cos(toRadians(originalLocation.getYaw() + 90.0F));
-        final double sinYaw = Math.sin(toRadians(originalLocation.getYaw() + 90.0F));
-        final double cosPitch = Math.cos(toRadians(-originalLocation.getPitch()));
-        final double sinPitch = Math.sin(toRadians(-originalLocation.getPitch()));
-        final double cosNegYaw = Math.cos(toRadians(-originalLocation.getPitch() + 90.0F));
-        final double sinNegYaw = Math.sin(toRadians(-originalLocation.getPitch() + 90.0F));
-        final Vector zModifier = new Vector(cosYaw * cosPitch, sinPitch, sinYaw * cosPitch);
-        final Vector yModifier = new Vector(cosYaw * cosNegYaw, sinNegYaw, sinYaw * cosNegYaw);
-        final Vector xModifier = zModifier.crossProduct(yModifier).multiply(-1);
-        final double xOffset = dotProduct(declaredPos, xModifier.getX(), yModifier.getX(), zModifier.getX());
-        final double yOffset = dotProduct(declaredPos, xModifier.getY(), yModifier.getY(), zModifier.getY());
-        final double zOffset = dotProduct(declaredPos, xModifier.getZ(), yModifier.getZ(), zModifier.getZ());
-        return originalLocation.add(xOffset, yOffset, zOffset);
+    static double resolve(final int type, final double origin, final double coordinate) {
+        if (type == ABSOLUTE) {
+            return coordinate;
+        } else if (type == RELATIVE) {
+            return origin + coordinate;
+        }
+        throw new IllegalArgumentException("Local coordinates must be resolved with addLocal");
     }
 
-    private static double dotProduct(final Vector location, final double x, final double y, final double z) {
-        return location.getX() * x + location.getY() * y + location.getZ() * z;
+    /**
+     * Returns a new location at the position of {@code sender}, or at the origin of the first world
+     * if the sender has no position.
+     *
+     * @param sender command sender
+     * @return the location
+     */
+    static @NonNull Location origin(final @NonNull CommandSender sender) {
+        if (sender instanceof BlockCommandSender) {
+            return ((BlockCommandSender) sender).getBlock().getLocation();
+        } else if (sender instanceof Entity) {
+            return ((Entity) sender).getLocation();
+        }
+        final List<World> worlds = Bukkit.getWorlds();
+        // The world list is empty in tests
+        return new Location(worlds.isEmpty() ? null : worlds.get(0), 0, 0, 0);
     }
 
-    private static float toRadians(final float degrees) {
-        return degrees * (float) Math.PI / 180f;
+    /**
+     * Moves {@code location} by the given local (^) offsets, relative to its rotation.
+     *
+     * <p>The left, up and forwards axes are derived from the sine and cosine of the yaw and pitch, which
+     * are each computed once.</p>
+     *
+     * @param location  location to move
+     * @param left      offset along the left axis
+     * @param up        offset along the up axis
+     * @param forwards  offset along the forwards axis
+     */
+    static void addLocal(final @NonNull Location location, final double left, final double up, final double forwards) {
+        final double yaw = Math.toRadians(location.getYaw() + 90.0);
+        final double pitch = Math.toRadians(-location.getPitch());
+        final double cosYaw = Math.cos(yaw);
+        final double sinYaw = Math.sin(yaw);
+        final double cosPitch = Math.cos(pitch);
+        final double sinPitch = Math.sin(pitch);
+        // forwards = (cosYaw * cosPitch, sinPitch, sinYaw * cosPitch)
+        // up = forwards rotated by 90 degrees of pitch = (-cosYaw * sinPitch, cosPitch, -sinYaw * sinPitch)
+        // left = up x forwards = (sinYaw, 0, -cosYaw)
+        location.setX(location.getX() + left * sinYaw - up * cosYaw * sinPitch + forwards * cosYaw * cosPitch);
+        location.setY(location.getY() + up * cosPitch + forwards * sinPitch);
+        location.setZ(location.getZ() - left * cosYaw - up * sinYaw * sinPitch + forwards * sinYaw * cosPitch);
     }
 
     @Override
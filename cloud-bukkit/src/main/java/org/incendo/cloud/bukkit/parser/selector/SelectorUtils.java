@@ -29,9 +29,10 @@ import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import io.leangen.geantyref.GenericTypeReflector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
@@ -42,9 +43,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.bukkit.command.CommandSender;
@@ -58,6 +60,8 @@ import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
 import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
 import org.incendo.cloud.bukkit.internal.CraftBukkitReflection;
 import org.incendo.cloud.bukkit.internal.MinecraftArgumentTypes;
+import org.incendo.cloud.bukkit.internal.OnlinePlayerIndex;
+import org.incendo.cloud.bukkit.internal.RegionizedSelectorEvaluator;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandInput;
 import org.incendo.cloud.parser.ArgumentParseResult;
@@ -83,7 +87,7 @@ final class SelectorUtils {
                 () -> createEntityArgument(single, playersOnly),
                 EntityArgumentParseFunction.INSTANCE
         );
-        return new ModernSelectorParser<>(wrappedBrigParser, mapper);
+        return new ModernSelectorParser<>(wrappedBrigParser, single, playersOnly, mapper);
     }
 
     @SuppressWarnings("unchecked")
@@ -102,34 +106,43 @@ final class SelectorUtils {
 
         static final EntityArgumentParseFunction INSTANCE = new EntityArgumentParseFunction();
 
+        // CraftBukkit adds parse(StringReader, boolean overridePermissions) to EntityArgument
+        private static final ClassValue<Optional<MethodHandle>> SPECIAL_PARSE = new ClassValue<Optional<MethodHandle>>() {
+            @Override
+            protected Optional<MethodHandle> computeValue(final Class<?> type) {
+                final @Nullable Method specialParse = CraftBukkitReflection.findMethod(
+                        type,
+                        "parse",
+                        StringReader.class,
+                        boolean.class
+                );
+                if (specialParse == null) {
+                    return Optional.empty();
+                }
+                return Optional.of(CraftBukkitReflection.unreflect(
+                        specialParse,
+                        MethodType.methodType(Object.class, ArgumentType.class, StringReader.class, boolean.class)
+                ));
+            }
+        };
+
         @Override
         public Object apply(
                 final ArgumentType<Object> type,
                 final StringReader reader
         ) throws CommandSyntaxException {
-            final @Nullable Method specialParse = CraftBukkitReflection.findMethod(
-                    type.getClass(),
-                    "parse",
-                    StringReader.class,
-                    boolean.class
-            );
-            if (specialParse == null) {
+            final Optional<MethodHandle> specialParse = SPECIAL_PARSE.get(type.getClass());
+            if (!specialParse.isPresent()) {
                 return type.parse(reader);
             }
             try {
-                return specialParse.invoke(
+                return (Object) specialParse.get().invokeExact(
                         type,
                         reader,
                         true // CraftBukkit overridePermissions param
                 );
-            } catch (final InvocationTargetException ex) {
-                final Throwable cause = ex.getCause();
-                if (cause instanceof CommandSyntaxException) {
-                    throw (CommandSyntaxException) cause;
-                }
-                throw new RuntimeException(ex);
-            } catch (final ReflectiveOperationException ex) {
-                throw new RuntimeException(ex);
+            } catch (final Throwable thr) {
+                throw propagate(thr);
             }
         }
     }
@@ -250,10 +263,19 @@ final class SelectorUtils {
                 final CommandContext<C> commandContext,
                 final CommandInput input
         ) {
-            final List<Suggestion> suggestions = new ArrayList<>();
+            final CommandSender bukkit = commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER);
+            final @Nullable OnlinePlayerIndex index = commandContext.getOrDefault(OnlinePlayerIndex.KEY, null);
+            if (index != null) {
+                final List<String> names = index.visibleNamesWithPrefix(bukkit, input.peekString());
+                final List<Suggestion> suggestions = new ArrayList<>(names.size());
+                for (final String name : names) {
+                    suggestions.add(Suggestion.suggestion(name));
+                }
+                return suggestions;
+            }
 
+            final List<Suggestion> suggestions = new ArrayList<>();
             for (final Player player : Bukkit.getOnlinePlayers()) {
-                final CommandSender bukkit = commandContext.get(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER);
                 if (bukkit instanceof Player && !((Player) bukkit).canSee(player)) {
                     continue;
                 }
@@ -266,14 +288,69 @@ final class SelectorUtils {
 
     private static class ModernSelectorParser<C, T> implements ArgumentParser.FutureArgumentParser<C, T>, SuggestionProvider<C> {
 
+        private static final ClassValue<Optional<BypassField>> BYPASS_FIELD = new ClassValue<Optional<BypassField>>() {
+            @Override
+            protected Optional<BypassField> computeValue(final Class<?> type) {
+                final @Nullable Field field = CraftBukkitReflection.findField(type, "bypassSelectorPermissions");
+                return field == null ? Optional.empty() : Optional.of(new BypassField(field));
+            }
+        };
+
+        // Selectors with a limit (or single selectors) must see every candidate at once, so they cannot be split across regions
+        private static final ClassValue<Optional<MethodHandle>> MAX_RESULTS = new ClassValue<Optional<MethodHandle>>() {
+            @Override
+            protected Optional<MethodHandle> computeValue(final Class<?> type) {
+                final @Nullable Field field = CraftBukkitReflection.findField(type, "maxResults");
+                if (field == null || field.getType() != int.class) {
+                    return Optional.empty();
+                }
+                try {
+                    return Optional.of(CraftBukkitReflection.unreflectGetter(field, MethodType.methodType(int.class, Object.class)));
+                } catch (final RuntimeException ex) {
+                    return Optional.empty();
+                }
+            }
+        };
+
+        // Sorted selectors must see every candidate at once as well, only the arbitrary default order survives merging
+        private static final ClassValue<Optional<SelectorOrder>> ORDER = new ClassValue<Optional<SelectorOrder>>() {
+            @Override
+            protected Optional<SelectorOrder> computeValue(final Class<?> type) {
+                final @Nullable Field field = CraftBukkitReflection.findField(type, "order");
+                final @Nullable Field arbitraryField = CraftBukkitReflection.findField(type, "ORDER_ARBITRARY");
+                if (field == null || arbitraryField == null || !Modifier.isStatic(arbitraryField.getModifiers())) {
+                    return Optional.empty();
+                }
+                try {
+                    arbitraryField.setAccessible(true);
+                    final @Nullable Object arbitrary = arbitraryField.get(null);
+                    if (arbitrary == null) {
+                        return Optional.empty();
+                    }
+                    return Optional.of(new SelectorOrder(
+                            CraftBukkitReflection.unreflectGetter(field, MethodType.methodType(Object.class, Object.class)),
+                            arbitrary
+                    ));
+                } catch (final ReflectiveOperationException | RuntimeException ex) {
+                    return Optional.empty();
+                }
+            }
+        };
+
         private final WrappedBrigadierParser<C, Object> wrappedBrigadierParser;
+        private final boolean single;
+        private final boolean playersOnly;
         private final SelectorMapper<T> mapper;
 
         ModernSelectorParser(
                 final WrappedBrigadierParser<C, Object> wrapperBrigParser,
+                final boolean single,
+                final boolean playersOnly,
                 final SelectorMapper<T> mapper
         ) {
             this.wrappedBrigadierParser = wrapperBrigParser;
+            this.single = single;
+            this.playersOnly = playersOnly;
             this.mapper = mapper;
         }
 
@@ -283,26 +360,70 @@ final class SelectorUtils {
                 final CommandContext<C> commandContext,
                 final CommandInput commandInput
         ) {
-            return CompletableFuture.supplyAsync(() -> {
+            final @Nullable RegionizedSelectorEvaluator evaluator = this.single
+                    ? null
+                    : commandContext.getOrDefault(RegionizedSelectorEvaluator.KEY, null);
+            return CompletableFuture.<CompletableFuture<ArgumentParseResult<T>>>supplyAsync(() -> {
                 final CommandInput originalCommandInput = commandInput.copy();
                 final ArgumentParseResult<Object> result = this.wrappedBrigadierParser.parse(
                         commandContext,
                         commandInput
                 );
                 if (result.failure().isPresent()) {
-                    return (ArgumentParseResult<T>) result;
+                    return CompletableFuture.completedFuture((ArgumentParseResult<T>) result);
                 }
                 final String input = originalCommandInput.difference(commandInput);
-                try {
-                    return ArgumentParseResult.success(
-                            this.mapper.mapResult(input, new EntitySelectorWrapper(commandContext, result.parsedValue().get()))
-                    );
-                } catch (final CommandSyntaxException ex) {
-                    return ArgumentParseResult.failure(ex);
-                } catch (final Exception ex) {
-                    throw rethrow(ex);
+                final Object selector = result.parsedValue().get();
+                final EntitySelectorWrapper wrapper = new EntitySelectorWrapper(commandContext, selector);
+                if (evaluator != null && !splittable(selector.getClass())) {
+                    evaluator.unsupportedSelector(selector.getClass());
                 }
-            }, commandContext.get(BukkitCommandContextKeys.SENDER_SCHEDULER_EXECUTOR));
+                if (evaluator == null || !unlimited(selector) || !arbitraryOrder(selector)) {
+                    return CompletableFuture.completedFuture(this.mapResult(input, wrapper));
+                }
+                final CompletableFuture<? extends List<? extends Entity>> selection = this.playersOnly
+                        ? evaluator.evaluate(commandContext, wrapper::players)
+                        : evaluator.evaluate(commandContext, wrapper::entities);
+                return selection.thenApply(entities -> this.mapResult(input, wrapper.withSelection(entities)));
+            }, commandContext.get(BukkitCommandContextKeys.SENDER_SCHEDULER_EXECUTOR)).thenCompose(Function.identity());
+        }
+
+        private ArgumentParseResult<T> mapResult(final String input, final EntitySelectorWrapper wrapper) {
+            try {
+                return ArgumentParseResult.success(this.mapper.mapResult(input, wrapper));
+            } catch (final CommandSyntaxException ex) {
+                return ArgumentParseResult.failure(ex);
+            } catch (final Exception ex) {
+                throw rethrow(ex);
+            }
+        }
+
+        private static boolean splittable(final Class<?> selectorType) {
+            return MAX_RESULTS.get(selectorType).isPresent() && ORDER.get(selectorType).isPresent();
+        }
+
+        private static boolean unlimited(final Object selector) {
+            final @Nullable MethodHandle maxResults = MAX_RESULTS.get(selector.getClass()).orElse(null);
+            if (maxResults == null) {
+                return false;
+            }
+            try {
+                return (int) maxResults.invokeExact(selector) == Integer.MAX_VALUE;
+            } catch (final Throwable thr) {
+                throw propagate(thr);
+            }
+        }
+
+        private static boolean arbitraryOrder(final Object selector) {
+            final @Nullable SelectorOrder order = ORDER.get(selector.getClass()).orElse(null);
+            if (order == null) {
+                return false;
+            }
+            try {
+                return (Object) order.getter.invokeExact(selector) == order.arbitrary;
+            } catch (final Throwable thr) {
+                throw propagate(thr);
+            }
         }
 
         @Override
@@ -311,14 +432,13 @@ final class SelectorUtils {
                 final @NonNull CommandInput input
         ) {
             final Object commandSourceStack = commandContext.get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER);
-            final @Nullable Field bypassField =
-                    CraftBukkitReflection.findField(commandSourceStack.getClass(), "bypassSelectorPermissions");
+            final @Nullable BypassField bypassField = BYPASS_FIELD.get(commandSourceStack.getClass()).orElse(null);
             try {
                 boolean prev = false;
                 try {
                     if (bypassField != null) {
-                        prev = bypassField.getBoolean(commandSourceStack);
-                        bypassField.setBoolean(commandSourceStack, true);
+                        prev = (boolean) bypassField.getter.invokeExact(commandSourceStack);
+                        bypassField.setter.invokeExact(commandSourceStack, true);
                     }
                     // stupid hack
                     return CompletableFuture.completedFuture(
@@ -326,11 +446,33 @@ final class SelectorUtils {
                     );
                 } finally {
                     if (bypassField != null) {
-                        bypassField.setBoolean(commandSourceStack, prev);
+                        bypassField.setter.invokeExact(commandSourceStack, prev);
                     }
                 }
-            } catch (final ReflectiveOperationException ex) {
-                throw new RuntimeException(ex);
+            } catch (final Throwable thr) {
+                throw propagate(thr);
+            }
+        }
+
+        private static final class BypassField {
+
+            private final MethodHandle getter;
+            private final MethodHandle setter;
+
+            BypassField(final Field field) {
+                this.getter = CraftBukkitReflection.unreflectGetter(field, MethodType.methodType(boolean.class, Object.class));
+                this.setter = CraftBukkitReflection.unreflectSetter(field, MethodType.methodType(void.class, Object.class, boolean.class));
+            }
+        }
+
+        private static final class SelectorOrder {
+
+            private final MethodHandle getter;
+            private final Object arbitrary;
+
+            SelectorOrder(final MethodHandle getter, final Object arbitrary) {
+                this.getter = getter;
+                this.arbitrary = arbitrary;
             }
         }
     }
@@ -341,18 +483,27 @@ final class SelectorUtils {
 
         private final CommandContext<?> commandContext;
         private final Object selector;
+        private final @Nullable List<? extends Entity> selection;
 
         private static final class Methods {
 
-            private @MonotonicNonNull Method getBukkitEntity;
-            private @MonotonicNonNull Method entity;
-            private @MonotonicNonNull Method player;
-            private @MonotonicNonNull Method entities;
-            private @MonotonicNonNull Method players;
+            private static final MethodType GET_BUKKIT_ENTITY_TYPE = MethodType.methodType(Object.class, Object.class);
+            private static final MethodType FIND_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+            private final MethodHandle getBukkitEntity;
+            private final MethodHandle entity;
+            private final MethodHandle player;
+            private final MethodHandle entities;
+            private final MethodHandle players;
 
             Methods(final CommandContext<?> commandContext, final Object selector) {
                 final Object nativeSender = commandContext.get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER);
                 final Class<?> nativeSenderClass = nativeSender.getClass();
+                @Nullable Method getBukkitEntity = null;
+                @Nullable Method entity = null;
+                @Nullable Method player = null;
+                @Nullable Method entities = null;
+                @Nullable Method players = null;
                 for (final Method method : selector.getClass().getDeclaredMethods()) {
                     if (method.getParameterCount() != 1
                             || !method.getParameterTypes()[0].equals(nativeSenderClass)
@@ -370,47 +521,62 @@ final class SelectorUtils {
                         final Class<?> clazz = listType instanceof Class
                                 ? (Class<?>) listType
                                 : GenericTypeReflector.erase(listType);
-                        final @Nullable Method getBukkitEntity = findGetBukkitEntityMethod(clazz);
-                        if (getBukkitEntity == null) {
+                        final @Nullable Method elementGetBukkitEntity = findGetBukkitEntityMethod(clazz);
+                        if (elementGetBukkitEntity == null) {
                             continue;
                         }
-                        final Class<?> bukkitType = getBukkitEntity.getReturnType();
+                        final Class<?> bukkitType = elementGetBukkitEntity.getReturnType();
                         if (Player.class.isAssignableFrom(bukkitType)) {
-                            if (this.players != null) {
+                            if (players != null) {
                                 throw new IllegalStateException();
                             }
-                            this.players = method;
+                            players = method;
                         } else {
-                            if (this.entities != null) {
+                            if (entities != null) {
                                 throw new IllegalStateException();
                             }
-                            this.entities = method;
+                            entities = method;
                         }
                     } else if (returnType != Void.TYPE) {
-                        final @Nullable Method getBukkitEntity = findGetBukkitEntityMethod(returnType);
-                        if (getBukkitEntity == null) {
+                        final @Nullable Method returnGetBukkitEntity = findGetBukkitEntityMethod(returnType);
+                        if (returnGetBukkitEntity == null) {
                             continue;
                         }
-                        final Class<?> bukkitType = getBukkitEntity.getReturnType();
+                        final Class<?> bukkitType = returnGetBukkitEntity.getReturnType();
                         if (Player.class.isAssignableFrom(bukkitType)) {
-                            if (this.player != null) {
+                            if (player != null) {
                                 throw new IllegalStateException();
                             }
-                            this.player = method;
+                            player = method;
                         } else {
-                            if (this.entity != null || this.getBukkitEntity != null) {
+                            if (entity != null || getBukkitEntity != null) {
                                 throw new IllegalStateException();
                             }
-                            this.entity = method;
-                            this.getBukkitEntity = getBukkitEntity;
+                            entity = method;
+                            getBukkitEntity = returnGetBukkitEntity;
                         }
                     }
                 }
-                Objects.requireNonNull(this.getBukkitEntity, "Failed to locate getBukkitEntity method");
-                Objects.requireNonNull(this.player, "Failed to locate findPlayer method");
-                Objects.requireNonNull(this.entity, "Failed to locate findEntity method");
-                Objects.requireNonNull(this.players, "Failed to locate findPlayers method");
-                Objects.requireNonNull(this.entities, "Failed to locate findEntities method");
+                this.getBukkitEntity = CraftBukkitReflection.unreflect(
+                        Objects.requireNonNull(getBukkitEntity, "Failed to locate getBukkitEntity method"),
+                        GET_BUKKIT_ENTITY_TYPE
+                );
+                this.player = CraftBukkitReflection.unreflect(
+                        Objects.requireNonNull(player, "Failed to locate findPlayer method"),
+                        FIND_TYPE
+                );
+                this.entity = CraftBukkitReflection.unreflect(
+                        Objects.requireNonNull(entity, "Failed to locate findEntity method"),
+                        FIND_TYPE
+                );
+                this.players = CraftBukkitReflection.unreflect(
+                        Objects.requireNonNull(players, "Failed to locate findPlayers method"),
+                        FIND_TYPE
+                );
+                this.entities = CraftBukkitReflection.unreflect(
+                        Objects.requireNonNull(entities, "Failed to locate findEntities method"),
+                        FIND_TYPE
+                );
             }
 
             private static @Nullable Method findGetBukkitEntityMethod(final Class<?> returnType) {
@@ -431,9 +597,22 @@ final class SelectorUtils {
         EntitySelectorWrapper(
                 final CommandContext<?> commandContext,
                 final Object selector
+        ) {
+            this(commandContext, selector, null);
+        }
+
+        private EntitySelectorWrapper(
+                final CommandContext<?> commandContext,
+                final Object selector,
+                final @Nullable List<? extends Entity> selection
         ) {
             this.commandContext = commandContext;
             this.selector = selector;
+            this.selection = selection;
+        }
+
+        EntitySelectorWrapper withSelection(final List<? extends Entity> selection) {
+            return new EntitySelectorWrapper(this.commandContext, this.selector, selection);
         }
 
         @SuppressWarnings("LockOnNonEnclosingClassLiteral")
@@ -452,58 +631,65 @@ final class SelectorUtils {
             return methods(this.commandContext, this.selector);
         }
 
+        private Object nativeSender() {
+            return this.commandContext.get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER);
+        }
+
         Entity singleEntity() {
-            return reflectiveOperation(() -> (Entity) this.methods().getBukkitEntity.invoke(this.methods().entity.invoke(
-                    this.selector,
-                    this.commandContext.<Object>get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER)
-            )));
+            final Methods methods = this.methods();
+            try {
+                final Object entity = (Object) methods.entity.invokeExact(this.selector, this.nativeSender());
+                return (Entity) (Object) methods.getBukkitEntity.invokeExact(entity);
+            } catch (final Throwable thr) {
+                throw propagate(thr);
+            }
         }
 
         Player singlePlayer() {
-            return reflectiveOperation(() -> (Player) this.methods().getBukkitEntity.invoke(this.methods().player.invoke(
-                    this.selector,
-                    this.commandContext.<Object>get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER)
-            )));
+            final Methods methods = this.methods();
+            try {
+                final Object player = (Object) methods.player.invokeExact(this.selector, this.nativeSender());
+                return (Player) (Object) methods.getBukkitEntity.invokeExact(player);
+            } catch (final Throwable thr) {
+                throw propagate(thr);
+            }
         }
 
         @SuppressWarnings("unchecked")
         List<Entity> entities() {
-            final List<Object> internalEntities = reflectiveOperation(() -> ((List<Object>) this.methods().entities.invoke(
-                    this.selector,
-                    this.commandContext.<Object>get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER)
-            )));
-            return internalEntities.stream()
-                    .map(o -> reflectiveOperation(() -> (Entity) this.methods().getBukkitEntity.invoke(o)))
-                    .collect(Collectors.toList());
+            if (this.selection != null) {
+                return (List<Entity>) this.selection;
+            }
+            final Methods methods = this.methods();
+            try {
+                final List<?> internalEntities = (List<?>) (Object) methods.entities.invokeExact(this.selector, this.nativeSender());
+                final int size = internalEntities.size();
+                final List<Entity> entities = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    entities.add((Entity) (Object) methods.getBukkitEntity.invokeExact(internalEntities.get(i)));
+                }
+                return entities;
+            } catch (final Throwable thr) {
+                throw propagate(thr);
+            }
         }
 
         @SuppressWarnings("unchecked")
         List<Player> players() {
-            final List<Object> serverPlayers = reflectiveOperation(() -> ((List<Object>) this.methods().players.invoke(
-                    this.selector,
-                    this.commandContext.<Object>get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER)
-            )));
-            return serverPlayers.stream()
-                    .map(o -> reflectiveOperation(() -> (Player) this.methods().getBukkitEntity.invoke(o)))
-                    .collect(Collectors.toList());
-        }
-
-        @FunctionalInterface
-        interface ReflectiveOperation<T> {
-
-            T run() throws ReflectiveOperationException;
-        }
-
-        private static <T> T reflectiveOperation(final ReflectiveOperation<T> op) {
+            if (this.selection != null) {
+                return (List<Player>) this.selection;
+            }
+            final Methods methods = this.methods();
             try {
-                return op.run();
-            } catch (final InvocationTargetException ex) {
-                if (ex.getCause() instanceof CommandSyntaxException) {
-                    throw rethrow(ex.getCause());
+                final List<?> serverPlayers = (List<?>) (Object) methods.players.invokeExact(this.selector, this.nativeSender());
+                final int size = serverPlayers.size();
+                final List<Player> players = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    players.add((Player) (Object) methods.getBukkitEntity.invokeExact(serverPlayers.get(i)));
                 }
-                throw new RuntimeException(ex);
-            } catch (final ReflectiveOperationException ex) {
-                throw new RuntimeException(ex);
+                return players;
+            } catch (final Throwable thr) {
+                throw propagate(thr);
             }
         }
     }
@@ -514,6 +700,14 @@ final class SelectorUtils {
         T mapResult(String input, EntitySelectorWrapper wrapper) throws Exception; // throws CommandSyntaxException
     }
 
+    // CommandSyntaxExceptions are rethrown as-is, like other unchecked throwables
+    private static RuntimeException propagate(final Throwable thr) {
+        if (thr instanceof CommandSyntaxException || thr instanceof RuntimeException || thr instanceof Error) {
+            throw rethrow(thr);
+        }
+        return new RuntimeException(thr);
+    }
+
     @SuppressWarnings("unchecked")
     private static <X extends Throwable> RuntimeException rethrow(final Throwable t) throws X {
         throw (X) t;
@@ -0,0 +1,169 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bukkit.internal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OnlinePlayerIndexTest {
+
+    @Mock
+    private Plugin plugin;
+
+    @Mock
+    private Server server;
+
+    @Mock
+    private PluginManager pluginManager;
+
+    private OnlinePlayerIndex index;
+
+    @BeforeEach
+    void setup() {
+        when(this.plugin.getServer()).thenReturn(this.server);
+        doReturn(Collections.emptyList()).when(this.server).getOnlinePlayers();
+        when(this.server.getPluginManager()).thenReturn(this.pluginManager);
+        this.index = OnlinePlayerIndex.create(this.plugin);
+        verify(this.pluginManager).registerEvents(this.index, this.plugin);
+    }
+
+    @Test
+    void Join_PlayersWithPrefix_SortedIgnoringCase() {
+        // Arrange
+        final Player bob = player("Bob");
+        final Player alice = player("alice");
+        final Player albert = player("Albert");
+
+        // Act
+        this.join(bob);
+        this.join(alice);
+        this.join(albert);
+
+        // Assert
+        assertThat(this.index.playersWithPrefix("AL")).containsExactly(albert, alice).inOrder();
+        assertThat(this.index.playersWithPrefix("")).containsExactly(albert, alice, bob).inOrder();
+        assertThat(this.index.playersWithPrefix("c")).isEmpty();
+    }
+
+    @Test
+    void Quit_PlayersWithPrefix_Removed() {
+        // Arrange
+        final Player steve = player("Steve");
+        final Player stella = player("Stella");
+        this.join(steve);
+        this.join(stella);
+
+        // Act
+        this.quit(steve);
+
+        // Assert
+        assertThat(this.index.playersWithPrefix("st")).containsExactly(stella);
+    }
+
+    @Test
+    void Quit_NameTakenOverByOtherPlayer_Kept() {
+        // Arrange
+        final Player oldSteve = player("Steve");
+        final Player newSteve = player("steve");
+        this.join(oldSteve);
+        this.join(newSteve);
+
+        // Act
+        this.quit(oldSteve);
+
+        // Assert
+        assertThat(this.index.playersWithPrefix("steve")).containsExactly(newSteve);
+    }
+
+    @Test
+    void VisibleNamesWithPrefix_PlayerViewer_HiddenPlayersFiltered() {
+        // Arrange
+        final Player visible = player("Steve");
+        final Player hidden = player("Stella");
+        final Player other = player("Alex");
+        final Player viewer = mock(Player.class);
+        when(viewer.canSee(visible)).thenReturn(true);
+        when(viewer.canSee(hidden)).thenReturn(false);
+        this.join(visible);
+        this.join(hidden);
+        this.join(other);
+
+        // Act
+        final List<String> names = this.index.visibleNamesWithPrefix(viewer, "ST");
+
+        // Assert
+        assertThat(names).containsExactly("Steve");
+    }
+
+    @Test
+    void VisibleNamesWithPrefix_NonPlayerViewer_AllNames() {
+        // Arrange
+        final Player steve = player("Steve");
+        final Player stella = player("Stella");
+        this.join(steve);
+        this.join(stella);
+
+        // Act
+        final List<String> names = this.index.visibleNamesWithPrefix(mock(CommandSender.class), "st");
+
+        // Assert
+        assertThat(names).containsExactly("Stella", "Steve").inOrder();
+    }
+
+    private void join(final Player player) {
+        this.index.onJoin(new PlayerJoinEvent(player, "joined"));
+    }
+
+    private void quit(final Player player) {
+        this.index.onQuit(new PlayerQuitEvent(player, "left"));
+    }
+
+    private static Player player(final String name) {
+        final Player player = mock(Player.class);
+        lenient().when(player.getName()).thenReturn(name);
+        lenient().when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        return player;
+    }
+}
@@ -0,0 +1,139 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bukkit.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.UUID;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.incendo.cloud.bukkit.util.ServerTest;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncOfflinePlayerArgumentTest extends ServerTest {
+
+    private static final UUID UUID_NOTCH = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    @Mock
+    private Plugin plugin;
+
+    @Mock
+    private PluginManager pluginManager;
+
+    @Mock
+    private OfflinePlayer offlinePlayer;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setupPlugin() {
+        when(this.plugin.getServer()).thenReturn(this.server());
+        when(this.server().getPluginManager()).thenReturn(this.pluginManager);
+    }
+
+    @Test
+    void Parse_CachedName_Success() {
+        // Arrange
+        when(this.offlinePlayer.getName()).thenReturn("Notch");
+        when(this.offlinePlayer.getUniqueId()).thenReturn(UUID_NOTCH);
+        when(this.server().getOfflinePlayers()).thenReturn(new OfflinePlayer[]{this.offlinePlayer});
+        when(this.server().getOfflinePlayer(UUID_NOTCH)).thenReturn(this.offlinePlayer);
+        final AsyncOfflinePlayerParser.NameCache cache = AsyncOfflinePlayerParser.NameCache.create(this.plugin, 16);
+        final AsyncOfflinePlayerParser.Resolver resolver = name -> {
+            throw new AssertionError("resolver should not be called");
+        };
+        final ArgumentParser<CommandSender, OfflinePlayer> parser =
+                AsyncOfflinePlayerParser.<CommandSender>asyncOfflinePlayerParser(cache, resolver, Runnable::run).parser();
+        final CommandInput commandInput = CommandInput.of("notch");
+
+        // Act
+        final ArgumentParseResult<OfflinePlayer> result = parser.parseFuture(this.commandContext(), commandInput).join();
+
+        // Assert
+        assertThat(result.failure()).isEmpty();
+        assertThat(result.parsedValue()).hasValue(this.offlinePlayer);
+        assertThat(commandInput.remainingInput()).isEmpty();
+        verify(this.pluginManager).registerEvents(cache, this.plugin);
+    }
+
+    @Test
+    void Parse_FileResolver_Success() throws Exception {
+        // Arrange
+        when(this.server().getOfflinePlayers()).thenReturn(new OfflinePlayer[0]);
+        when(this.server().getOfflinePlayer(UUID_NOTCH)).thenReturn(this.offlinePlayer);
+        final Path file = this.tempDir.resolve("players.properties");
+        Files.write(file, Collections.singletonList("Notch=" + UUID_NOTCH), StandardCharsets.UTF_8);
+        final AsyncOfflinePlayerParser.NameCache cache = AsyncOfflinePlayerParser.NameCache.create(this.plugin, 16);
+        final ArgumentParser<CommandSender, OfflinePlayer> parser = AsyncOfflinePlayerParser.<CommandSender>asyncOfflinePlayerParser(
+                cache,
+                AsyncOfflinePlayerParser.Resolver.file(file),
+                Runnable::run
+        ).parser();
+
+        // Act
+        final ArgumentParseResult<OfflinePlayer> result = parser.parseFuture(
+                this.commandContext(),
+                CommandInput.of("notch")
+        ).join();
+
+        // Assert
+        assertThat(result.failure()).isEmpty();
+        assertThat(result.parsedValue()).hasValue(this.offlinePlayer);
+        assertThat(cache.get("NOTCH")).isEqualTo(UUID_NOTCH);
+    }
+
+    @Test
+    void Parse_UnknownName_Failure() {
+        // Arrange
+        when(this.server().getOfflinePlayers()).thenReturn(new OfflinePlayer[0]);
+        final AsyncOfflinePlayerParser.NameCache cache = AsyncOfflinePlayerParser.NameCache.create(this.plugin, 16);
+        final ArgumentParser<CommandSender, OfflinePlayer> parser =
+                AsyncOfflinePlayerParser.<CommandSender>asyncOfflinePlayerParser(cache, name -> null, Runnable::run).parser();
+
+        // Act
+        final ArgumentParseResult<OfflinePlayer> result = parser.parseFuture(
+                this.commandContext(),
+                CommandInput.of("nobody")
+        ).join();
+
+        // Assert
+        assertThat(result.failure()).isPresent();
+        assertThat(result.parsedValue()).isEmpty();
+    }
+}
@@ -114,4 +114,18 @@ class EnchantmentArgumentTest extends ServerTest {
         assertThat(result.failure()).isPresent();
         assertThat(result.parsedValue()).isEmpty();
     }
+
+    @Test
+    void Suggestions_Prefix_MatchingKeys() {
+        // Arrange
+        final EnchantmentParser<CommandSender> parser = new EnchantmentParser<>();
+
+        // Act
+        final Iterable<String> plain = parser.stringSuggestions(this.commandContext(), CommandInput.of("sharp"));
+        final Iterable<String> namespaced = parser.stringSuggestions(this.commandContext(), CommandInput.of("minecraft:sharp"));
+
+        // Assert
+        assertThat(plain).containsExactly("sharpness");
+        assertThat(namespaced).containsExactly("minecraft:sharpness");
+    }
 }
@@ -35,6 +35,7 @@ import java.util.stream.StreamSupport;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
 import org.bukkit.util.Vector;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.CommandManager;
@@ -63,6 +64,9 @@ class LocationArgumentTest extends ServerTest {
     @Mock
     private World world;
 
+    @Mock
+    private Entity entity;
+
     @ParameterizedTest
     @MethodSource
     void suggestions(final String input, final List<String> expectedSuggestions) {
@@ -145,6 +149,46 @@ class LocationArgumentTest extends ServerTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("Parse_LocalCoordinates_Success_Source")
+    void Parse_LocalCoordinates_Success(
+        final @NonNull String input,
+        final float yaw,
+        final float pitch,
+        final @NonNull Vector expectedLocation
+    ) {
+        // Arrange
+        when(this.entity.getLocation()).thenReturn(new Location(this.world, 0, 0, 0, yaw, pitch));
+        this.commandContext().set(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER, this.entity);
+        final LocationParser<CommandSender> parser = new LocationParser<>();
+        final CommandInput commandInput = CommandInput.of(input);
+
+        // Act
+        final ArgumentParseResult<Location> result = parser.parse(
+            this.commandContext(),
+            commandInput
+        );
+
+        // Assert
+        assertThat(result.failure()).isEmpty();
+        assertThat(result.parsedValue().get().toVector()).isEqualTo(expectedLocation);
+    }
+
+    static @NonNull Stream<@NonNull Arguments> Parse_LocalCoordinates_Success_Source() {
+        return Stream.of(
+            // Facing south (+z)
+            arguments("^ ^ ^1", 0f, 0f, new Vector(0, 0, 1)),
+            arguments("^1 ^ ^", 0f, 0f, new Vector(1, 0, 0)),
+            arguments("^ ^1 ^", 0f, 0f, new Vector(0, 1, 0)),
+            // Facing west (-x)
+            arguments("^ ^ ^1", 90f, 0f, new Vector(-1, 0, 0)),
+            arguments("^1 ^ ^", 90f, 0f, new Vector(0, 0, 1)),
+            // Facing up
+            arguments("^ ^ ^1", 0f, -90f, new Vector(0, 1, 0)),
+            arguments("^ ^1 ^", 0f, -90f, new Vector(0, 0, -1))
+        );
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"0 0", "not a location"})
     void Parse_InvalidLocation_Failure(final @NonNull String input) {
@@ -23,8 +23,12 @@
 //
 package org.incendo.cloud.bukkit.parser;
 
+import java.util.stream.Stream;
 import org.bukkit.NamespacedKey;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.bukkit.BukkitCaptionKeys;
 import org.incendo.cloud.bukkit.BukkitCommandManager;
+import org.incendo.cloud.caption.Caption;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandInput;
 import org.incendo.cloud.context.StandardCommandContextFactory;
@@ -32,10 +36,14 @@ import org.incendo.cloud.parser.ArgumentParseResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("deprecation")
@@ -115,4 +123,39 @@ class NamespacedKeyArgumentTest {
         assertThat(result.parsedValue()).hasValue(new NamespacedKey(NamespacedKey.MINECRAFT, "test"));
         assertThat(commandInput.remainingInput()).isEmpty();
     }
+
+    @ParameterizedTest
+    @MethodSource("Parse_InvalidInput_Failure_Source")
+    void Parse_InvalidInput_Failure(final @NonNull String input, final @NonNull Caption caption) {
+        // Arrange
+        final NamespacedKeyParser<Object> parser = new NamespacedKeyParser<>(
+                false /* requireExplicitNamespace */,
+                NamespacedKey.MINECRAFT
+        );
+        final CommandInput commandInput = CommandInput.of(input);
+
+        // Act
+        final ArgumentParseResult<NamespacedKey> result = parser.parse(
+                this.commandContext,
+                commandInput
+        );
+
+        // Assert
+        assertThat(result.failure()).hasValue(
+                new NamespacedKeyParser.NamespacedKeyParseException(caption, input, this.commandContext)
+        );
+        assertThat(result.parsedValue()).isEmpty();
+    }
+
+    static @NonNull Stream<@NonNull Arguments> Parse_InvalidInput_Failure_Source() {
+        return Stream.of(
+                arguments("a:b:c", BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY),
+                arguments(":test", BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NAMESPACE),
+                arguments("Minecraft:test", BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NAMESPACE),
+                arguments("mine/craft:test", BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_NAMESPACE),
+                arguments("minecraft:", BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY),
+                arguments("minecraft:te$t", BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY),
+                arguments("Test", BukkitCaptionKeys.ARGUMENT_PARSE_FAILURE_NAMESPACED_KEY_KEY)
+        );
+    }
 }
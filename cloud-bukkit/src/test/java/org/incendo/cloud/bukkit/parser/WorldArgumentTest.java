@@ -23,8 +23,12 @@
 //
 package org.incendo.cloud.bukkit.parser;
 
+import java.util.Arrays;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.incendo.cloud.bukkit.internal.WorldIndex;
 import org.incendo.cloud.bukkit.util.ServerTest;
 import org.incendo.cloud.context.CommandInput;
 import org.incendo.cloud.parser.ArgumentParseResult;
@@ -40,6 +44,15 @@ class WorldArgumentTest extends ServerTest {
     @Mock
     private World world;
 
+    @Mock
+    private World otherWorld;
+
+    @Mock
+    private Plugin plugin;
+
+    @Mock
+    private PluginManager pluginManager;
+
     @Test
     void Parse_HappyFlow_Success() {
         // Arrange
@@ -79,4 +92,24 @@ class WorldArgumentTest extends ServerTest {
 
         verify(this.server()).getWorld("world");
     }
+
+    @Test
+    void Suggestions_WorldIndex_MatchingNames() {
+        // Arrange
+        when(this.world.getName()).thenReturn("world");
+        when(this.otherWorld.getName()).thenReturn("World_nether");
+        when(this.plugin.getServer()).thenReturn(this.server());
+        when(this.server().getWorlds()).thenReturn(Arrays.asList(this.world, this.otherWorld));
+        when(this.server().getPluginManager()).thenReturn(this.pluginManager);
+        this.commandContext().store(WorldIndex.KEY, WorldIndex.create(this.plugin));
+        final WorldParser<CommandSender> worldParser = new WorldParser<>();
+
+        // Act
+        final Iterable<String> all = worldParser.stringSuggestions(this.commandContext(), CommandInput.of("w"));
+        final Iterable<String> nether = worldParser.stringSuggestions(this.commandContext(), CommandInput.of("world_"));
+
+        // Assert
+        assertThat(all).containsExactly("world", "World_nether").inOrder();
+        assertThat(nether).containsExactly("World_nether");
+    }
 }
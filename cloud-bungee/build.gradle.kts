@@ -5,5 +5,6 @@ plugins {
 
 dependencies {
     api(libs.cloud.core)
+    implementation(projects.cloudBrigadier)
     compileOnly(libs.bungeecord)
 }
@@ -32,6 +32,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.SenderMapperHolder;
+import org.incendo.cloud.bungee.internal.OnlinePlayerIndex;
 import org.incendo.cloud.bungee.parser.PlayerParser;
 import org.incendo.cloud.bungee.parser.ServerParser;
 import org.incendo.cloud.caption.CaptionProvider;
@@ -51,6 +52,7 @@ public class BungeeCommandManager<C> extends CommandManager<C> implements Sender
 
     private final Plugin owningPlugin;
     private final SenderMapper<CommandSender, C> senderMapper;
+    private final OnlinePlayerIndex onlinePlayerIndex;
 
     /**
      * Construct a new Bungee command manager
@@ -69,6 +71,7 @@ public class BungeeCommandManager<C> extends CommandManager<C> implements Sender
         ((BungeePluginRegistrationHandler<C>) this.commandRegistrationHandler()).initialize(this);
         this.owningPlugin = owningPlugin;
         this.senderMapper = senderMapper;
+        this.onlinePlayerIndex = OnlinePlayerIndex.create(owningPlugin);
 
         /* Register Bungee Preprocessor */
         this.registerCommandPreProcessor(new BungeeCommandPreprocessor<>(this));
@@ -108,6 +111,10 @@ public class BungeeCommandManager<C> extends CommandManager<C> implements Sender
         return this.owningPlugin;
     }
 
+    final @NonNull OnlinePlayerIndex onlinePlayerIndex() {
+        return this.onlinePlayerIndex;
+    }
+
     private void registerDefaultExceptionHandlers() {
         this.registerDefaultExceptionHandlers(
             triplet -> {
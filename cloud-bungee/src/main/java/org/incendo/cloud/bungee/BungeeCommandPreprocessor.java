@@ -24,6 +24,7 @@
 package org.incendo.cloud.bungee;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.bungee.internal.OnlinePlayerIndex;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessingContext;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessor;
 
@@ -50,5 +51,6 @@ final class BungeeCommandPreprocessor<C> implements CommandPreprocessor<C> {
     @Override
     public void accept(final @NonNull CommandPreprocessingContext<C> context) {
         context.commandContext().store(BungeeContextKeys.PROXY_SERVER_KEY, this.mgr.owningPlugin().getProxy());
+        context.commandContext().store(OnlinePlayerIndex.KEY, this.mgr.onlinePlayerIndex());
     }
 }
@@ -0,0 +1,121 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.bungee.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
+import net.md_5.bungee.api.event.PostLoginEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.event.EventHandler;
+import net.md_5.bungee.event.EventPriority;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.brigadier.util.SortedNameIndex;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Index of online players sorted by lowercase name, maintained from login and disconnect events.
+ *
+ * <p>Reads are lock-free against an immutable {@link SortedNameIndex}, while updates copy it. Prefix queries
+ * are answered with two binary searches, so only the matching players are visited.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class OnlinePlayerIndex implements Listener {
+
+    /**
+     * Key used to store the index of the owning command manager in the command context.
+     */
+    public static final CloudKey<OnlinePlayerIndex> KEY = CloudKey.of("OnlinePlayerIndex", OnlinePlayerIndex.class);
+
+    private volatile SortedNameIndex<ProxiedPlayer> players = SortedNameIndex.empty();
+
+    private OnlinePlayerIndex() {
+    }
+
+    /**
+     * Creates a new index, seeds it with the currently connected players and registers its listeners.
+     *
+     * @param plugin plugin owning the listeners
+     * @return the index
+     */
+    public static @NonNull OnlinePlayerIndex create(final @NonNull Plugin plugin) {
+        final OnlinePlayerIndex index = new OnlinePlayerIndex();
+        for (final ProxiedPlayer player : plugin.getProxy().getPlayers()) {
+            index.add(player);
+        }
+        plugin.getProxy().getPluginManager().registerListener(plugin, index);
+        return index;
+    }
+
+    /**
+     * Adds the player to the index.
+     *
+     * @param event event
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPostLogin(final @NonNull PostLoginEvent event) {
+        this.add(event.getPlayer());
+    }
+
+    /**
+     * Removes the player from the index.
+     *
+     * @param event event
+     */
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onDisconnect(final @NonNull PlayerDisconnectEvent event) {
+        this.remove(event.getPlayer());
+    }
+
+    /**
+     * Returns the names of the connected players whose name starts with {@code prefix}, ignoring case.
+     *
+     * @param prefix name prefix
+     * @return matching names, sorted
+     */
+    public @NonNull List<@NonNull String> namesWithPrefix(final @NonNull String prefix) {
+        final List<ProxiedPlayer> players = this.players.valuesWithPrefix(prefix.toLowerCase(Locale.ROOT));
+        final List<String> names = new ArrayList<>(players.size());
+        for (final ProxiedPlayer player : players) {
+            names.add(player.getName());
+        }
+        return names;
+    }
+
+    private synchronized void add(final @NonNull ProxiedPlayer player) {
+        this.players = this.players.with(player.getName().toLowerCase(Locale.ROOT), player);
+    }
+
+    private synchronized void remove(final @NonNull ProxiedPlayer player) {
+        // Only remove the entry if it still belongs to this player, a player with the same name may have joined since
+        this.players = this.players.without(
+                player.getName().toLowerCase(Locale.ROOT),
+                indexed -> indexed.getUniqueId().equals(player.getUniqueId())
+        );
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Internal classes for the cloud-bungee implementation. Classes in this package
+ * are not part of the API, and as such, may break, change, or be removed without
+ * any notice.
+ */
+package org.incendo.cloud.bungee.internal;
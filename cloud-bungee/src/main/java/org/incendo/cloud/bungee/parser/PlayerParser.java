@@ -29,6 +29,7 @@ import net.md_5.bungee.api.connection.ProxiedPlayer;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.bungee.BungeeCaptionKeys;
+import org.incendo.cloud.bungee.internal.OnlinePlayerIndex;
 import org.incendo.cloud.caption.CaptionVariable;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
@@ -94,10 +95,14 @@ public final class PlayerParser<C> implements ArgumentParser<C, ProxiedPlayer>,
             final @NonNull CommandContext<C> commandContext,
             final @NonNull CommandInput input
     ) {
+        final OnlinePlayerIndex index = commandContext.getOrDefault(OnlinePlayerIndex.KEY, null);
+        if (index != null) {
+            return index.namesWithPrefix(input.peekString());
+        }
         return commandContext.<ProxyServer>get("ProxyServer")
                 .getPlayers()
                 .stream()
-                .map(ProxiedPlayer::getDisplayName)
+                .map(ProxiedPlayer::getName)
                 .collect(Collectors.toList());
     }
 
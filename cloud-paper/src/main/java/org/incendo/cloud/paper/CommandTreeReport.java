@@ -0,0 +1,277 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.paper;
+
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Size report of the Brigadier command tree contributed to Paper by a {@link PaperCommandManager}.
+ *
+ * <p>Sizes are estimated for a player who may use every command, as permission checks are applied per player when
+ * Paper sends the tree. Nodes shared between several parents, such as the children of aliases, are counted once per
+ * parent, as the client receives a copy for each of them.</p>
+ *
+ * @since 2.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+public final class CommandTreeReport {
+
+    // Suggestion provider identifier written for arguments that ask the server for suggestions
+    private static final int ASK_SERVER_BYTES = stringBytes("minecraft:ask_server");
+
+    private final List<RootReport> roots;
+
+    private CommandTreeReport(final List<RootReport> roots) {
+        this.roots = Collections.unmodifiableList(roots);
+    }
+
+    static CommandTreeReport empty() {
+        return new CommandTreeReport(Collections.emptyList());
+    }
+
+    static CommandTreeReport create(
+        final RootCommandNode<?> dispatcherRoot,
+        final Map<String, Set<String>> registeredLabels
+    ) {
+        // The packet indexes nodes across the whole dispatcher, including vanilla and other plugins
+        final int dispatcherNodes = countNodes(dispatcherRoot);
+        final List<RootReport> roots = new ArrayList<>();
+        for (final Map.Entry<String, Set<String>> entry : registeredLabels.entrySet()) {
+            final Counter counter = new Counter();
+            for (final String label : entry.getValue()) {
+                final @Nullable CommandNode<?> node = dispatcherRoot.getChild(label);
+                if (node != null) {
+                    counter.visit(node);
+                }
+            }
+            roots.add(new RootReport(entry.getKey(), entry.getValue(), counter, dispatcherNodes));
+        }
+        roots.sort(Comparator.comparingLong(RootReport::estimatedBytes).reversed());
+        return new CommandTreeReport(roots);
+    }
+
+    /**
+     * Returns the reports of the registered root commands, largest first.
+     *
+     * @return the root reports
+     */
+    public @NonNull List<@NonNull RootReport> roots() {
+        return this.roots;
+    }
+
+    /**
+     * Returns the total number of nodes.
+     *
+     * @return the node count
+     */
+    public int nodeCount() {
+        int count = 0;
+        for (final RootReport root : this.roots) {
+            count += root.nodeCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the estimated number of bytes the tree adds to the commands packet.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (final RootReport root : this.roots) {
+            bytes += root.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandTreeReport{nodes=" + this.nodeCount() + ", estimatedBytes=" + this.estimatedBytes()
+            + ", roots=" + this.roots + '}';
+    }
+
+    private static int countNodes(final CommandNode<?> node) {
+        int count = 1;
+        for (final CommandNode<?> child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private static int stringBytes(final String string) {
+        final int length = string.getBytes(StandardCharsets.UTF_8).length;
+        return varIntBytes(length) + length;
+    }
+
+    private static int varIntBytes(final int value) {
+        int bytes = 1;
+        int remaining = value >>> 7;
+        while (remaining != 0) {
+            bytes++;
+            remaining >>>= 7;
+        }
+        return bytes;
+    }
+
+    /**
+     * Size report of a single root command, including all of its registered labels.
+     *
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    public static final class RootReport {
+
+        private final String name;
+        private final Set<String> labels;
+        private final int nodeCount;
+        private final int argumentNodeCount;
+        private final Map<String, Integer> argumentTypes;
+        private final long estimatedBytes;
+
+        private RootReport(final String name, final Set<String> labels, final Counter counter, final int dispatcherNodes) {
+            this.name = name;
+            this.labels = Collections.unmodifiableSet(labels);
+            this.nodeCount = counter.nodes;
+            this.argumentNodeCount = counter.argumentNodes;
+            this.argumentTypes = Collections.unmodifiableMap(new TreeMap<>(counter.argumentTypes));
+            // Child indices are written as var ints, which are at most this large for the nodes of the whole dispatcher
+            this.estimatedBytes = counter.bytes + (long) counter.childReferences * varIntBytes(dispatcherNodes);
+        }
+
+        /**
+         * Returns the name of the root command.
+         *
+         * @return the name
+         */
+        public @NonNull String name() {
+            return this.name;
+        }
+
+        /**
+         * Returns the labels the root command was registered under, including aliases and namespaced labels.
+         *
+         * @return the labels
+         */
+        public @NonNull Set<@NonNull String> labels() {
+            return this.labels;
+        }
+
+        /**
+         * Returns the number of nodes sent for the root command.
+         *
+         * @return the node count
+         */
+        public int nodeCount() {
+            return this.nodeCount;
+        }
+
+        /**
+         * Returns the number of argument nodes sent for the root command.
+         *
+         * @return the argument node count
+         */
+        public int argumentNodeCount() {
+            return this.argumentNodeCount;
+        }
+
+        /**
+         * Returns the number of argument nodes per Brigadier argument type class name.
+         *
+         * @return the argument type counts
+         */
+        public @NonNull Map<@NonNull String, @NonNull Integer> argumentTypes() {
+            return this.argumentTypes;
+        }
+
+        /**
+         * Returns the estimated number of bytes the root command adds to the commands packet.
+         *
+         * @return the estimated size in bytes
+         */
+        public long estimatedBytes() {
+            return this.estimatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "RootReport{name=" + this.name + ", labels=" + this.labels + ", nodes=" + this.nodeCount
+                + ", argumentNodes=" + this.argumentNodeCount + ", estimatedBytes=" + this.estimatedBytes + '}';
+        }
+    }
+
+    private static final class Counter {
+
+        private final Map<String, Integer> argumentTypes = new HashMap<>();
+        private int nodes;
+        private int argumentNodes;
+        private int childReferences;
+        private long bytes;
+
+        private void visit(final CommandNode<?> node) {
+            this.nodes++;
+            // Flags
+            this.bytes += 1;
+            // Child count, the child indices are added once the node count is known
+            this.bytes += varIntBytes(node.getChildren().size());
+            this.childReferences += node.getChildren().size();
+            if (node.getRedirect() != null) {
+                this.childReferences++;
+            }
+
+            if (node instanceof LiteralCommandNode) {
+                this.bytes += stringBytes(((LiteralCommandNode<?>) node).getLiteral());
+            } else if (node instanceof ArgumentCommandNode) {
+                final ArgumentCommandNode<?, ?> argument = (ArgumentCommandNode<?, ?>) node;
+                this.argumentNodes++;
+                this.argumentTypes.merge(argument.getType().getClass().getName(), 1, Integer::sum);
+                // Name and parser id, argument properties are not accounted for
+                this.bytes += stringBytes(argument.getName()) + 1;
+                if (argument.getCustomSuggestions() != null) {
+                    this.bytes += ASK_SERVER_BYTES;
+                }
+            }
+
+            // Redirects point at nodes that are sent anyway, so they are not followed
+            for (final CommandNode<?> child : node.getChildren()) {
+                this.visit(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.paper;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
+import org.incendo.cloud.bukkit.PluginHolder;
+import org.incendo.cloud.bukkit.internal.RegionizedSelectorEvaluator;
+import org.incendo.cloud.context.CommandContext;
+
+/**
+ * Evaluates unlimited, unsorted multi-entity selectors on Folia by running the selection in the sender's region and in
+ * the region of every online player, skipping regions that have already been evaluated, and merging the results.
+ */
+@DefaultQualifier(NonNull.class)
+final class FoliaSelectorEvaluator implements RegionizedSelectorEvaluator {
+
+    private final PluginHolder pluginHolder;
+    private final AtomicBoolean reportedUnsupported = new AtomicBoolean();
+
+    FoliaSelectorEvaluator(final PluginHolder pluginHolder) {
+        this.pluginHolder = pluginHolder;
+    }
+
+    @Override
+    public void unsupportedSelector(final Class<?> selectorType) {
+        if (!this.reportedUnsupported.compareAndSet(false, true)) {
+            return;
+        }
+        this.pluginHolder.owningPlugin().getLogger().warning(
+                "Could not read the limit or sort order of " + selectorType.getName() + ", multi-entity selectors are only "
+                        + "evaluated in the sender's region. Region-aware selector evaluation requires Mojang-mapped field names."
+        );
+    }
+
+    @Override
+    public <T extends Entity> CompletableFuture<List<T>> evaluate(
+            final CommandContext<?> commandContext,
+            final Supplier<List<T>> regionLocalSelection
+    ) {
+        final Plugin plugin = this.pluginHolder.owningPlugin();
+        // Anchors of the regions that have already been evaluated. Tasks of the same region never run concurrently,
+        // so checking and claiming from within a task cannot race with another task of that region.
+        final Queue<Object> evaluated = new ConcurrentLinkedQueue<>();
+        final List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+
+        final CompletableFuture<List<T>> senderRegion = new CompletableFuture<>();
+        final @Nullable Object senderAnchor = anchor(commandContext.getOrDefault(BukkitCommandContextKeys.BUKKIT_COMMAND_SENDER, null));
+        commandContext.get(BukkitCommandContextKeys.SENDER_SCHEDULER_EXECUTOR).execute(
+                () -> evaluateRegion(senderRegion, senderAnchor, evaluated, regionLocalSelection)
+        );
+        futures.add(senderRegion);
+
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            final CompletableFuture<List<T>> playerRegion = new CompletableFuture<>();
+            final @Nullable ScheduledTask scheduled = player.getScheduler().run(
+                    plugin,
+                    task -> evaluateRegion(playerRegion, player, evaluated, regionLocalSelection),
+                    () -> playerRegion.complete(Collections.emptyList())
+            );
+            if (scheduled == null) {
+                // The player was removed before the task could be scheduled
+                playerRegion.complete(Collections.emptyList());
+            }
+            futures.add(playerRegion);
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            final Map<UUID, T> merged = new LinkedHashMap<>();
+            for (final CompletableFuture<List<T>> future : futures) {
+                for (final T entity : future.join()) {
+                    merged.putIfAbsent(entity.getUniqueId(), entity);
+                }
+            }
+            return new ArrayList<>(merged.values());
+        });
+    }
+
+    private static <T extends Entity> void evaluateRegion(
+            final CompletableFuture<List<T>> future,
+            final @Nullable Object anchor,
+            final Queue<Object> evaluated,
+            final Supplier<List<T>> regionLocalSelection
+    ) {
+        try {
+            if (ownedByCurrentRegion(evaluated)) {
+                future.complete(Collections.emptyList());
+                return;
+            }
+            if (anchor != null) {
+                evaluated.add(anchor);
+            }
+            future.complete(regionLocalSelection.get());
+        } catch (final Throwable thr) {
+            future.completeExceptionally(thr);
+        }
+    }
+
+    private static boolean ownedByCurrentRegion(final Collection<Object> anchors) {
+        for (final Object anchor : anchors) {
+            final boolean owned = anchor instanceof Entity
+                    ? Bukkit.isOwnedByCurrentRegion((Entity) anchor)
+                    : Bukkit.isOwnedByCurrentRegion((Location) anchor);
+            if (owned) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static @Nullable Object anchor(final @Nullable CommandSender sender) {
+        if (sender instanceof Entity) {
+            return sender;
+        } else if (sender instanceof BlockCommandSender) {
+            return ((BlockCommandSender) sender).getBlock().getLocation();
+        }
+        return null;
+    }
+}
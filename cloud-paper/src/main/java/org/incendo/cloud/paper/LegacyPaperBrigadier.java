@@ -23,11 +23,14 @@
 //
 package org.incendo.cloud.paper;
 
-import java.util.regex.Pattern;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.command.PluginIdentifiableCommand;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.CommandTree;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.brigadier.BrigadierManagerHolder;
@@ -46,6 +49,8 @@ class LegacyPaperBrigadier<C> implements Listener,
 
     private final CloudBrigadierManager<C, com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource> brigadierManager;
     private final LegacyPaperCommandManager<C> paperCommandManager;
+    private final Map<String, LiteralCommandNode<com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource>> cachedRoots =
+        new ConcurrentHashMap<>();
 
     LegacyPaperBrigadier(final @NonNull LegacyPaperCommandManager<C> paperCommandManager) {
         this.paperCommandManager = paperCommandManager;
@@ -87,11 +92,14 @@ class LegacyPaperBrigadier<C> implements Listener,
 
         final CommandTree<C> commandTree = this.paperCommandManager.commandTree();
 
+        final String commandLabel = event.getCommandLabel();
         final String label;
-        if (event.getCommandLabel().contains(":")) {
-            label = event.getCommandLabel().split(Pattern.quote(":"))[1];
+        final int namespaceEnd = commandLabel.indexOf(':');
+        if (namespaceEnd != -1) {
+            final int labelEnd = commandLabel.indexOf(':', namespaceEnd + 1);
+            label = commandLabel.substring(namespaceEnd + 1, labelEnd == -1 ? commandLabel.length() : labelEnd);
         } else {
-            label = event.getCommandLabel();
+            label = commandLabel;
         }
 
         final CommandNode<C> node = commandTree.getNamedNode(label);
@@ -99,9 +107,35 @@ class LegacyPaperBrigadier<C> implements Listener,
             return;
         }
 
+        event.setLiteral(relabel(this.rootLiteral(node), event.getLiteral().getLiteral()));
+    }
+
+    /**
+     * Drops the root literal cached for {@code rootName}, so the next registration event rebuilds it from the command tree.
+     *
+     * @param rootName name of the root command that is being registered or deleted
+     */
+    void invalidate(final @NonNull String rootName) {
+        this.cachedRoots.remove(rootName);
+    }
+
+    // The event fires for every alias and namespaced label of a command, which all share the node built for the root.
+    // The manager invalidates the entry whenever a command is added under the root or the root is deleted,
+    // see LegacyPaperCommandManager#command and LegacyPaperCommandManager#deleteRootCommand.
+    private LiteralCommandNode<com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource> rootLiteral(
+        final CommandNode<C> node
+    ) {
+        final String rootName = node.component().name();
+        final @Nullable LiteralCommandNode<com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource> cached =
+            this.cachedRoots.get(rootName);
+        if (cached != null) {
+            return cached;
+        }
+
+        final CommandTree<C> commandTree = this.paperCommandManager.commandTree();
         final BrigadierPermissionChecker<C> permissionChecker = (sender, permission) -> {
             // We need to check that the command still exists...
-            if (commandTree.getNamedNode(label) == null) {
+            if (commandTree.getNamedNode(rootName) == null) {
                 return false;
             }
 
@@ -109,8 +143,8 @@ class LegacyPaperBrigadier<C> implements Listener,
         };
         final LiteralBrigadierNodeFactory<C, com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource> literalFactory =
             this.brigadierManager.literalBrigadierNodeFactory();
-        event.setLiteral(literalFactory.createNode(
-            event.getLiteral().getLiteral(),
+        final LiteralCommandNode<com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource> literal = literalFactory.createNode(
+            rootName,
             node,
             new CloudBrigadierCommand<>(
                 this.paperCommandManager,
@@ -118,6 +152,27 @@ class LegacyPaperBrigadier<C> implements Listener,
                 command -> BukkitHelper.stripNamespace(this.paperCommandManager, command)
             ),
             permissionChecker
-        ));
+        );
+
+        this.cachedRoots.put(rootName, literal);
+        return literal;
+    }
+
+    private static <S> LiteralCommandNode<S> relabel(final LiteralCommandNode<S> node, final String label) {
+        if (node.getLiteral().equals(label)) {
+            return node;
+        }
+        final LiteralCommandNode<S> relabeled = new LiteralCommandNode<>(
+            label,
+            node.getCommand(),
+            node.getRequirement(),
+            node.getRedirect(),
+            node.getRedirectModifier(),
+            node.isFork()
+        );
+        for (final com.mojang.brigadier.tree.CommandNode<S> child : node.getChildren()) {
+            relabeled.addChild(child);
+        }
+        return relabeled;
     }
 }
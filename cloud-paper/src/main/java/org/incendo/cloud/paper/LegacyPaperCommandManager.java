@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.paper;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 import org.apiguardian.api.API;
@@ -34,6 +35,7 @@ import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.CloudCapability;
+import org.incendo.cloud.Command;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.brigadier.BrigadierManagerHolder;
@@ -42,7 +44,9 @@ import org.incendo.cloud.brigadier.CloudBrigadierManager;
 import org.incendo.cloud.bukkit.BukkitCommandManager;
 import org.incendo.cloud.bukkit.CloudBukkitCapabilities;
 import org.incendo.cloud.bukkit.internal.CraftBukkitReflection;
+import org.incendo.cloud.bukkit.internal.RegionizedSelectorEvaluator;
 import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.internal.CommandNode;
 import org.incendo.cloud.paper.suggestion.SuggestionListener;
 import org.incendo.cloud.paper.suggestion.SuggestionListenerFactory;
 import org.incendo.cloud.state.RegistrationState;
@@ -219,6 +223,40 @@ public class LegacyPaperCommandManager<C> extends BukkitCommandManager<C> {
         return super.brigadierManager();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param command {@inheritDoc}
+     * @return {@inheritDoc}
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    @Override
+    public @NonNull CommandManager<C> command(final @NonNull Command<? extends C> command) {
+        if (this.brigadierManagerHolder instanceof LegacyPaperBrigadier) {
+            // The root literal built for earlier registration events no longer reflects the root node
+            ((LegacyPaperBrigadier<C>) this.brigadierManagerHolder).invalidate(command.rootComponent().name());
+        }
+        return super.command(command);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param rootCommand {@inheritDoc}
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    @Override
+    public void deleteRootCommand(final @NonNull String rootCommand) {
+        final @Nullable CommandNode<C> node = this.commandTree().getNamedNode(rootCommand);
+        super.deleteRootCommand(rootCommand);
+        if (node != null && this.brigadierManagerHolder instanceof LegacyPaperBrigadier) {
+            // Drop the literal built for the deleted root, it would otherwise be kept for the lifetime of the manager
+            ((LegacyPaperBrigadier<C>) this.brigadierManagerHolder).invalidate(node.component().name());
+        }
+    }
+
     /**
      * Registers asynchronous completions using the Paper API. This means the calling thread for suggestion queries will be a
      * thread other than the {@link Server#isPrimaryThread() main server thread} (or, the sender's thread context on Folia).
@@ -233,12 +271,44 @@ public class LegacyPaperCommandManager<C> extends BukkitCommandManager<C> {
      * @see #hasCapability(CloudCapability)
      */
     public void registerAsynchronousCompletions() throws IllegalStateException {
+        this.registerAsynchronousCompletions(SuggestionListenerFactory.create(this));
+    }
+
+    /**
+     * Registers asynchronous completions using the Paper API, like {@link #registerAsynchronousCompletions()}, but bounds
+     * how long suggestions are awaited and how many are sent.
+     *
+     * <p>Suggestions that are not ready within {@code deadline} are cancelled, and the client receives no completions for
+     * that request, rather than blocking Paper's asynchronous tab-complete thread. At most {@code maxSuggestions}
+     * suggestions are sent, as clients only display a limited number of them.</p>
+     *
+     * @param deadline       maximum time to await suggestions for, must be positive
+     * @param maxSuggestions maximum number of suggestions to send, must be positive
+     * @throws IllegalStateException    when the server does not support asynchronous completions
+     * @throws IllegalArgumentException when {@code deadline} or {@code maxSuggestions} is not positive
+     * @see #registerAsynchronousCompletions()
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    public void registerAsynchronousCompletions(
+            final @NonNull Duration deadline,
+            final int maxSuggestions
+    ) throws IllegalStateException {
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("deadline must be positive");
+        }
+        if (maxSuggestions <= 0) {
+            throw new IllegalArgumentException("maxSuggestions must be positive");
+        }
+        this.registerAsynchronousCompletions(SuggestionListenerFactory.create(this, deadline, maxSuggestions));
+    }
+
+    private void registerAsynchronousCompletions(final @NonNull SuggestionListenerFactory<C> suggestionListenerFactory) {
         this.requireState(RegistrationState.BEFORE_REGISTRATION);
         if (!this.hasCapability(CloudBukkitCapabilities.ASYNCHRONOUS_COMPLETION)) {
             throw new IllegalStateException("Failed to register asynchronous command completion listener.");
         }
 
-        final SuggestionListenerFactory<C> suggestionListenerFactory = SuggestionListenerFactory.create(this);
         final SuggestionListener<C> suggestionListener = suggestionListenerFactory.createListener();
 
         Bukkit.getServer().getPluginManager().registerEvents(
@@ -246,4 +316,30 @@ public class LegacyPaperCommandManager<C> extends BukkitCommandManager<C> {
                 this.owningPlugin()
         );
     }
+
+    /**
+     * Enables region-aware evaluation of multi-entity selectors (such as {@code @e} and {@code @a}) on Folia.
+     *
+     * <p>By default, selectors are evaluated on the sender's scheduler, which on Folia only sees the entities owned by
+     * the sender's region. With this enabled, selectors without a {@code limit} or {@code sort} are evaluated in the
+     * sender's region and in the region of every online player, and the results are merged. Entities in regions without
+     * any player are only found when they are in the sender's region. Sorted selectors are evaluated in the sender's region
+     * only, as merging would lose their order.</p>
+     *
+     * <p>Limits and sort orders are read from the selector's {@code maxResults} and {@code order} fields, so this requires
+     * a server that uses Mojang-mapped field names, as Paper and Folia do since 1.20.5. When they cannot be found, a warning
+     * is logged once and every selector is evaluated in the sender's region only.</p>
+     *
+     * <p>This does nothing when the server is not running Folia.</p>
+     *
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    public void registerRegionizedSelectorEvaluation() {
+        if (!PaperCommandPreprocessor.FOLIA) {
+            return;
+        }
+        final FoliaSelectorEvaluator evaluator = new FoliaSelectorEvaluator(this);
+        this.registerCommandPreProcessor(ctx -> ctx.commandContext().store(RegionizedSelectorEvaluator.KEY, evaluator));
+    }
 }
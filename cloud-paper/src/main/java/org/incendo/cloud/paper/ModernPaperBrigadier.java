@@ -24,6 +24,9 @@
 package org.incendo.cloud.paper;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
 import io.papermc.paper.command.brigadier.CommandRegistrationFlag;
@@ -36,15 +39,22 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Logger;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -63,9 +73,15 @@ import org.incendo.cloud.bukkit.internal.BukkitHelper;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.internal.CommandNode;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
+import org.incendo.cloud.permission.AndPermission;
+import org.incendo.cloud.permission.OrPermission;
+import org.incendo.cloud.permission.Permission;
+import org.incendo.cloud.permission.PredicatePermission;
+import org.incendo.cloud.type.tuple.Pair;
 
 @SuppressWarnings("UnstableApiUsage")
-final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>, BrigadierManagerHolder<C, CommandSourceStack> {
+final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>, BrigadierManagerHolder<C, CommandSourceStack>,
+    Listener {
     private final CommandManager<C> manager;
     private final Runnable lockRegistration;
     private final PluginMetaHolder metaHolder;
@@ -73,8 +89,21 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
     private final Map<String, Set<String>> aliases = new ConcurrentHashMap<>();
     private final Set<Command<C>> registeredCommands = new HashSet<>();
     private volatile @Nullable Commands commands;
+    // Bumped whenever the cloud tree or the Brigadier mappings may have changed
+    private final AtomicLong modifications = new AtomicLong();
+    private volatile boolean retainTree;
+    private @Nullable List<Pair<CommandNode<C>, LiteralCommandNode<CommandSourceStack>>> retainedRoots;
+    private long retainedModifications;
+    // Commands registered after the commands event are attached in batches, followed by a single resend
+    private final Object pendingLock = new Object();
+    private final Set<String> pendingRoots = new HashSet<>();
+    private final Map<String, Set<String>> pendingBranches = new HashMap<>();
+    private boolean flushScheduled;
+    private volatile long treeBudget = -1;
+    // Roots marked for lazy registration that have not been needed yet, and those that have been registered since
+    private final Set<String> deferredRoots = ConcurrentHashMap.newKeySet();
+    private final Set<String> activatedRoots = ConcurrentHashMap.newKeySet();
 
-    // TODO - Allow registering in bootstrap/onEnable per-root-note, based on meta value?
     @SuppressWarnings("unchecked")
     ModernPaperBrigadier(
         final Class<B> baseType,
@@ -127,6 +156,18 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
         context.getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, this::register);
     }
 
+    void registerListeners(final Plugin plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    void retainTree() {
+        this.retainTree = true;
+    }
+
+    void invalidateTree() {
+        this.modifications.incrementAndGet();
+    }
+
     private void register(final ReloadableRegistrarEvent<Commands> event) {
         this.lockRegistration.run(); // Lock registration once event is called
 
@@ -134,15 +175,106 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
         this.commands = commands;
 
         this.aliases.clear();
+        synchronized (this.pendingLock) {
+            // The whole tree is registered below
+            this.pendingRoots.clear();
+            this.pendingBranches.clear();
+        }
+        this.deferredRoots.clear();
+        for (final CommandNode<C> rootNode : this.manager.commandTree().rootNodes()) {
+            final String name = rootNode.component().name();
+            if (!this.activatedRoots.contains(name) && this.isLazy(rootNode)) {
+                this.deferredRoots.add(name);
+            }
+        }
+        if (this.retainTree) {
+            for (final Pair<CommandNode<C>, LiteralCommandNode<CommandSourceStack>> root : this.retainedRoots()) {
+                this.registerCommand(commands, root.first(), root.second());
+            }
+        } else {
+            for (final CommandNode<C> rootNode : this.manager.commandTree().rootNodes()) {
+                if (!this.deferredRoots.contains(rootNode.component().name())) {
+                    this.registerCommand(commands, rootNode);
+                }
+            }
+        }
         for (final CommandNode<C> rootNode : this.manager.commandTree().rootNodes()) {
-            this.registerCommand(commands, rootNode);
+            if (this.deferredRoots.contains(rootNode.component().name())) {
+                this.registerCommand(commands, rootNode, this.createStubNode(rootNode));
+            }
         }
+        this.checkTreeBudget();
+    }
+
+    void treeBudget(final long bytes) {
+        this.treeBudget = bytes;
+    }
+
+    CommandTreeReport treeReport() {
+        final @Nullable Commands commands = this.commands;
+        if (commands == null) {
+            return CommandTreeReport.empty();
+        }
+        return CommandTreeReport.create(unsafeGet(commands, Commands::getDispatcher).getRoot(), this.aliases);
+    }
+
+    private void checkTreeBudget() {
+        final long budget = this.treeBudget;
+        if (budget < 0) {
+            return;
+        }
+        final CommandTreeReport report = this.treeReport();
+        if (report.estimatedBytes() <= budget) {
+            return;
+        }
+        final StringBuilder largest = new StringBuilder();
+        for (final CommandTreeReport.RootReport root : report.roots().subList(0, Math.min(5, report.roots().size()))) {
+            if (largest.length() > 0) {
+                largest.append(", ");
+            }
+            largest.append('/').append(root.name()).append(" (").append(root.estimatedBytes()).append(" bytes, ")
+                .append(root.nodeCount()).append(" nodes)");
+        }
+        Logger.getLogger(this.metaHolder.owningPluginMeta().getName()).warning(String.format(
+            "Brigadier command tree is estimated at %d bytes (%d nodes), exceeding the budget of %d bytes. Largest roots: %s",
+            report.estimatedBytes(),
+            report.nodeCount(),
+            budget,
+            largest
+        ));
+    }
+
+    // Lifecycle events run on the main thread, so the retained tree is only touched from there
+    private List<Pair<CommandNode<C>, LiteralCommandNode<CommandSourceStack>>> retainedRoots() {
+        // Both counters only grow, so their sum changes whenever either of them does
+        final long modifications = this.modifications.get() + this.brigadierManager.mappingsRevision();
+        @Nullable List<Pair<CommandNode<C>, LiteralCommandNode<CommandSourceStack>>> roots = this.retainedRoots;
+        if (roots == null || this.retainedModifications != modifications) {
+            roots = new ArrayList<>();
+            for (final CommandNode<C> rootNode : this.manager.commandTree().rootNodes()) {
+                if (this.deferredRoots.contains(rootNode.component().name())) {
+                    continue;
+                }
+                roots.add(Pair.of(rootNode, this.createRootNode(rootNode, rootNode.component().name())));
+            }
+            this.retainedRoots = roots;
+            this.retainedModifications = modifications;
+        }
+        return roots;
     }
 
     private void registerCommand(final Commands commands, final CommandNode<C> rootNode) {
+        this.registerCommand(commands, rootNode, this.createRootNode(rootNode, rootNode.component().name()));
+    }
+
+    private void registerCommand(
+        final Commands commands,
+        final CommandNode<C> rootNode,
+        final LiteralCommandNode<CommandSourceStack> brigadierNode
+    ) {
         final Set<String> registered = commands.registerWithFlags(
             this.metaHolder.owningPluginMeta(),
-            this.createRootNode(rootNode, rootNode.component().name()),
+            brigadierNode,
             this.findBukkitDescription(rootNode),
             new ArrayList<>(rootNode.component().alternativeAliases()),
             new HashSet<>(Collections.singletonList(CommandRegistrationFlag.FLATTEN_ALIASES))
@@ -151,9 +283,34 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
     }
 
     private LiteralCommandNode<CommandSourceStack> createRootNode(final CommandNode<C> rootNode, final String label) {
+        return this.createLiteralNode(rootNode.component().name(), rootNode, label);
+    }
+
+    // Deferred roots are registered as a literal taking the rest of the input, which is only sent to senders that may use
+    // one of the root's commands. Any dispatch, including functions and /execute, still reaches cloud through it.
+    private LiteralCommandNode<CommandSourceStack> createStubNode(final CommandNode<C> rootNode) {
+        final String rootName = rootNode.component().name();
+        final com.mojang.brigadier.Command<CommandSourceStack> command = new CloudBrigadierCommand<>(
+            this.manager,
+            this.brigadierManager,
+            input -> BukkitHelper.stripNamespace(this.metaHolder.owningPluginMeta().getName(), input)
+        );
+        return LiteralArgumentBuilder.<CommandSourceStack>literal(rootName)
+            .requires(source -> this.mayUse(this.brigadierManager.senderMapper().map(source), rootName))
+            .executes(command)
+            .then(RequiredArgumentBuilder.<CommandSourceStack, String>argument("arguments", StringArgumentType.greedyString())
+                .executes(command))
+            .build();
+    }
+
+    private LiteralCommandNode<CommandSourceStack> createLiteralNode(
+        final String rootName,
+        final CommandNode<C> node,
+        final String label
+    ) {
         final BrigadierPermissionChecker<C> permissionChecker = (sender, permission) -> {
             // We need to check that the command still exists...
-            if (this.manager.commandTree().getNamedNode(rootNode.component().name()) == null) {
+            if (this.manager.commandTree().getNamedNode(rootName) == null) {
                 return false;
             }
 
@@ -161,7 +318,7 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
         };
         return this.brigadierManager.literalBrigadierNodeFactory().createNode(
             label,
-            rootNode,
+            node,
             new CloudBrigadierCommand<>(
                 this.manager,
                 this.brigadierManager,
@@ -199,35 +356,44 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
         if (!this.registeredCommands.add(command)) {
             return true;
         }
+        this.modifications.incrementAndGet();
         final @Nullable Commands commands = this.commands;
         if (commands == null) {
             return true;
         }
 
-        if (this.aliases.containsKey(command.rootComponent().name())) {
-            final CommandDispatcher<CommandSourceStack> dispatcher =
-                unsafeGet(commands, Commands::getDispatcher);
-            final Set<String> registered = this.aliases.get(command.rootComponent().name());
-            final LiteralCommandNode<CommandSourceStack> newRoot = this.createRootNode(
-                this.manager.commandTree().getNamedNode(command.rootComponent().name()),
-                command.rootComponent().name()
-            );
-            for (final String label : registered) {
-                final com.mojang.brigadier.tree.CommandNode<CommandSourceStack> node =
-                    dispatcher.getRoot().getChild(label);
-                for (final com.mojang.brigadier.tree.CommandNode<CommandSourceStack> newChild : newRoot.getChildren()) {
-                    node.addChild(newChild);
+        final String rootName = command.rootComponent().name();
+        final boolean deferred = this.deferredRoots.contains(rootName);
+        if (deferred || (!this.aliases.containsKey(rootName) && !this.activatedRoots.contains(rootName))) {
+            final @Nullable CommandNode<C> rootNode = this.manager.commandTree().getNamedNode(rootName);
+            if (rootNode != null && this.isLazy(rootNode)) {
+                if (!deferred) {
+                    this.deferredRoots.add(rootName);
+                    unsafeOperation(commands, cmds -> this.registerCommand(cmds, rootNode, this.createStubNode(rootNode)));
+                    this.scheduleFlush();
                 }
+                // The stub of a deferred root already accepts the new command
+                return true;
             }
+            if (deferred && this.deferredRoots.remove(rootName) && rootNode != null) {
+                // A command without the meta was added, so the root is no longer lazy and replaces its stub
+                unsafeOperation(commands, cmds -> this.replaceStub(cmds, rootNode));
+                this.scheduleFlush();
+                return true;
+            }
+        }
+
+        if (this.aliases.containsKey(rootName)) {
+            // The root is already known to Brigadier, so the new branch is attached with the next batch
+            this.queueBranch(command);
         } else {
             unsafeOperation(commands, cmds -> this.registerCommand(
                 cmds,
                 this.manager.commandTree().getNamedNode(command.rootComponent().name())
             ));
+            this.scheduleFlush();
         }
 
-        this.resendCommands();
-
         final @Nullable Set<String> registered = this.aliases.get(command.rootComponent().name());
 
         boolean ret = registered != null && !registered.isEmpty();
@@ -237,6 +403,220 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
         return ret;
     }
 
+    private void queueBranch(final Command<C> command) {
+        final String rootName = command.rootComponent().name();
+        final List<CommandComponent<C>> components = command.components();
+        synchronized (this.pendingLock) {
+            // Commands below a literal only need that literal's branch, anything else may change the root node itself
+            if (components.size() > 1
+                && components.get(1).type() == CommandComponent.ComponentType.LITERAL
+                && !this.pendingRoots.contains(rootName)) {
+                this.pendingBranches.computeIfAbsent(rootName, key -> new HashSet<>()).add(components.get(1).name());
+            } else {
+                this.pendingRoots.add(rootName);
+                this.pendingBranches.remove(rootName);
+            }
+        }
+        this.scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        synchronized (this.pendingLock) {
+            if (this.flushScheduled) {
+                return;
+            }
+            this.flushScheduled = true;
+        }
+        final Plugin plugin = this.metaHolder.owningPlugin();
+        plugin.getServer().getGlobalRegionScheduler().execute(plugin, this::flushPending);
+    }
+
+    private void flushPending() {
+        final Set<String> roots;
+        final Map<String, Set<String>> branches;
+        synchronized (this.pendingLock) {
+            roots = new HashSet<>(this.pendingRoots);
+            branches = new HashMap<>(this.pendingBranches);
+            this.pendingRoots.clear();
+            this.pendingBranches.clear();
+            this.flushScheduled = false;
+        }
+
+        final @Nullable Commands commands = this.commands;
+        if (commands != null && (!roots.isEmpty() || !branches.isEmpty())) {
+            final RootCommandNode<CommandSourceStack> dispatcherRoot = unsafeGet(commands, Commands::getDispatcher).getRoot();
+            for (final String rootName : roots) {
+                this.attachBranches(dispatcherRoot, rootName, null);
+            }
+            for (final Map.Entry<String, Set<String>> entry : branches.entrySet()) {
+                this.attachBranches(dispatcherRoot, entry.getKey(), entry.getValue());
+            }
+            this.checkTreeBudget();
+        }
+
+        this.resendCommands();
+    }
+
+    private void attachBranches(
+        final RootCommandNode<CommandSourceStack> dispatcherRoot,
+        final String rootName,
+        final @Nullable Set<String> branchNames
+    ) {
+        final @Nullable Set<String> labels = this.aliases.get(rootName);
+        final @Nullable CommandNode<C> rootNode = this.manager.commandTree().getNamedNode(rootName);
+        if (labels == null || labels.isEmpty() || rootNode == null) {
+            return;
+        }
+
+        final List<com.mojang.brigadier.tree.CommandNode<CommandSourceStack>> branches = new ArrayList<>();
+        if (branchNames == null) {
+            branches.addAll(this.createRootNode(rootNode, rootName).getChildren());
+        } else {
+            for (final CommandNode<C> child : rootNode.children()) {
+                final String name = child.component().name();
+                if (branchNames.contains(name)) {
+                    branches.add(this.createLiteralNode(rootName, child, name));
+                }
+            }
+        }
+
+        com.mojang.brigadier.tree.@Nullable CommandNode<CommandSourceStack> canonical = dispatcherRoot.getChild(rootName);
+        if (canonical == null) {
+            for (final String label : labels) {
+                canonical = dispatcherRoot.getChild(label);
+                if (canonical != null) {
+                    break;
+                }
+            }
+            if (canonical == null) {
+                return;
+            }
+        }
+        for (final com.mojang.brigadier.tree.CommandNode<CommandSourceStack> branch : branches) {
+            canonical.addChild(branch);
+        }
+
+        // Aliases share the canonical branches instead of merging a copy of them each
+        for (final String label : labels) {
+            final com.mojang.brigadier.tree.@Nullable CommandNode<CommandSourceStack> node = dispatcherRoot.getChild(label);
+            if (node == null || node == canonical) {
+                continue;
+            }
+            for (final com.mojang.brigadier.tree.CommandNode<CommandSourceStack> branch : branches) {
+                final com.mojang.brigadier.tree.CommandNode<CommandSourceStack> shared = canonical.getChild(branch.getName());
+                if (node.getChild(branch.getName()) != shared) {
+                    node.addChild(shared);
+                }
+            }
+        }
+    }
+
+    private boolean isLazy(final CommandNode<C> rootNode) {
+        final List<Command<C>> commands = commandsOf(rootNode, new ArrayList<>());
+        for (final Command<C> command : commands) {
+            if (!command.commandMeta().optional(PaperCommandMeta.LAZY_REGISTRATION).orElse(false)) {
+                return false;
+            }
+        }
+        return !commands.isEmpty();
+    }
+
+    private static <C> List<Command<C>> commandsOf(final CommandNode<C> node, final List<Command<C>> commands) {
+        if (node.command() != null) {
+            commands.add(node.command());
+        }
+        for (final CommandNode<C> child : node.children()) {
+            commandsOf(child, commands);
+        }
+        return commands;
+    }
+
+    private boolean mayUse(final C sender, final String rootName) {
+        final @Nullable CommandNode<C> rootNode = this.manager.commandTree().getNamedNode(rootName);
+        if (rootNode == null) {
+            return false;
+        }
+        for (final Command<C> command : commandsOf(rootNode, new ArrayList<>())) {
+            if (this.manager.testPermission(sender, command.commandPermission()).allowed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean mayUse(final Player player, final CommandNode<C> rootNode) {
+        for (final Command<C> command : commandsOf(rootNode, new ArrayList<>())) {
+            if (mayUse(player, command.commandPermission())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mayUse(final Player player, final Permission permission) {
+        if (permission instanceof OrPermission) {
+            for (final Permission child : ((OrPermission) permission).permissions()) {
+                if (mayUse(player, child)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (permission instanceof AndPermission) {
+            for (final Permission child : ((AndPermission) permission).permissions()) {
+                if (!mayUse(player, child)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // Predicate permissions need a cloud sender, so they are assumed to pass
+        return permission instanceof PredicatePermission
+            || permission.permissionString().isEmpty()
+            || player.hasPermission(permission.permissionString());
+    }
+
+    // Runs on the global region, which owns the dispatcher on Folia
+    private void activateRoot(final String rootName) {
+        if (!this.deferredRoots.remove(rootName)) {
+            return;
+        }
+        this.activatedRoots.add(rootName);
+        this.modifications.incrementAndGet();
+
+        final @Nullable Commands commands = this.commands;
+        final @Nullable CommandNode<C> rootNode = this.manager.commandTree().getNamedNode(rootName);
+        if (commands == null || rootNode == null) {
+            return;
+        }
+        unsafeOperation(commands, cmds -> this.replaceStub(cmds, rootNode));
+        this.scheduleFlush();
+    }
+
+    private void replaceStub(final Commands commands, final CommandNode<C> rootNode) {
+        final @Nullable Set<String> stubLabels = this.aliases.remove(rootNode.component().name());
+        if (stubLabels != null) {
+            this.removeLabels(commands, stubLabels);
+        }
+        this.registerCommand(commands, rootNode);
+    }
+
+    // Paper sends the command tree before the join event, the flush after activation resends it
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(final PlayerJoinEvent event) {
+        final List<String> usable = new ArrayList<>();
+        for (final String rootName : this.deferredRoots) {
+            final @Nullable CommandNode<C> rootNode = this.manager.commandTree().getNamedNode(rootName);
+            if (rootNode != null && this.mayUse(event.getPlayer(), rootNode)) {
+                usable.add(rootName);
+            }
+        }
+        if (usable.isEmpty()) {
+            return;
+        }
+        final Plugin plugin = this.metaHolder.owningPlugin();
+        plugin.getServer().getGlobalRegionScheduler().execute(plugin, () -> usable.forEach(this::activateRoot));
+    }
+
     private static @MonotonicNonNull Method commandnodeRemoveMethod = null;
 
     private void unregisterRoot(final Commands commands, final String label) {
@@ -245,7 +625,14 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
             return;
         }
         this.registeredCommands.removeIf(command -> command.rootComponent().name().equals(label));
+        synchronized (this.pendingLock) {
+            this.pendingRoots.remove(label);
+            this.pendingBranches.remove(label);
+        }
+        this.removeLabels(commands, removed);
+    }
 
+    private void removeLabels(final Commands commands, final Set<String> labels) {
         try {
             if (commandnodeRemoveMethod == null) {
                 commandnodeRemoveMethod = com.mojang.brigadier.tree.CommandNode.class.getMethod(
@@ -260,7 +647,7 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
         unsafeOperation(commands, cmds -> {
             final CommandDispatcher<CommandSourceStack> dispatcher = cmds.getDispatcher();
             final RootCommandNode<CommandSourceStack> root = dispatcher.getRoot();
-            for (final String removedLabel : removed) {
+            for (final String removedLabel : labels) {
                 try {
                     commandnodeRemoveMethod.invoke(root, removedLabel);
                 } catch (final ReflectiveOperationException e) {
@@ -272,6 +659,9 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
 
     @Override
     public void unregisterRootCommand(final @NonNull CommandComponent<C> rootCommand) {
+        this.modifications.incrementAndGet();
+        this.deferredRoots.remove(rootCommand.name());
+        this.activatedRoots.remove(rootCommand.name());
         final @Nullable Commands commands = this.commands;
         if (commands == null) {
             return;
@@ -279,7 +669,7 @@ final class ModernPaperBrigadier<C, B> implements CommandRegistrationHandler<C>,
 
         this.unregisterRoot(commands, rootCommand.name());
 
-        this.resendCommands();
+        this.scheduleFlush();
     }
 
     private void resendCommands() {
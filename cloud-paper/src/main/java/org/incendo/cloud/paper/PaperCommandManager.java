@@ -46,8 +46,12 @@ import org.incendo.cloud.bukkit.BukkitParsers;
 import org.incendo.cloud.bukkit.CloudBukkitCapabilities;
 import org.incendo.cloud.bukkit.PluginHolder;
 import org.incendo.cloud.bukkit.internal.BukkitHelper;
+import org.incendo.cloud.bukkit.internal.EnchantmentIndex;
+import org.incendo.cloud.bukkit.internal.RegionizedSelectorEvaluator;
+import org.incendo.cloud.bukkit.internal.WorldIndex;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
+import org.incendo.cloud.state.RegistrationState;
 
 /**
  * A {@link CommandManager} implementation for modern Paper API, using {@link CommandSourceStack} as the base sender type.
@@ -64,6 +68,7 @@ public class PaperCommandManager<C> extends CommandManager<C> implements SenderM
     PluginMetaHolder, PluginHolder, BrigadierManagerHolder<C, CommandSourceStack> {
     private final PluginMeta pluginMeta;
     private final SenderMapper<CommandSourceStack, C> senderMapper;
+    private volatile @Nullable WorldIndex worldIndex;
 
     /**
      * Creates a new {@link Builder} for a manager with sender type {@link C}.
@@ -124,6 +129,19 @@ public class PaperCommandManager<C> extends CommandManager<C> implements SenderM
                 return commandSourceStack.getSender();
             }
         ));
+        this.registerCommandPreProcessor(ctx -> {
+            final @Nullable WorldIndex index = this.worldIndex;
+            if (index != null) {
+                ctx.commandContext().store(WorldIndex.KEY, index);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    final void registerPluginListeners(final @NonNull Plugin plugin) {
+        EnchantmentIndex.invalidateOnServerLoad(plugin);
+        this.worldIndex = WorldIndex.create(plugin);
+        ((ModernPaperBrigadier<C, CommandSourceStack>) this.commandRegistrationHandler()).registerListeners(plugin);
     }
 
     @Override
@@ -136,6 +154,96 @@ public class PaperCommandManager<C> extends CommandManager<C> implements SenderM
         return this.senderMapper;
     }
 
+    /**
+     * Enables region-aware evaluation of multi-entity selectors (such as {@code @e} and {@code @a}) on Folia.
+     *
+     * <p>By default, selectors are evaluated on the sender's scheduler, which on Folia only sees the entities owned by
+     * the sender's region. With this enabled, selectors without a {@code limit} or {@code sort} are evaluated in the
+     * sender's region and in the region of every online player, and the results are merged. Entities in regions without
+     * any player are only found when they are in the sender's region. Sorted selectors are evaluated in the sender's region
+     * only, as merging would lose their order.</p>
+     *
+     * <p>Limits and sort orders are read from the selector's {@code maxResults} and {@code order} fields, so this requires
+     * a server that uses Mojang-mapped field names, as Paper and Folia do since 1.20.5. When they cannot be found, a warning
+     * is logged once and every selector is evaluated in the sender's region only.</p>
+     *
+     * <p>This does nothing when the server is not running Folia.</p>
+     *
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    public final void registerRegionizedSelectorEvaluation() {
+        if (!PaperCommandPreprocessor.FOLIA) {
+            return;
+        }
+        final FoliaSelectorEvaluator evaluator = new FoliaSelectorEvaluator(this);
+        this.registerCommandPreProcessor(ctx -> ctx.commandContext().store(RegionizedSelectorEvaluator.KEY, evaluator));
+    }
+
+    /**
+     * Retains the Brigadier command tree built when commands are first registered with Paper.
+     *
+     * <p>By default, the whole Brigadier tree is rebuilt every time Paper re-registers commands, such as on data pack
+     * reloads. With this enabled, the tree is built once and re-attached on later reloads. It is only rebuilt after a
+     * command has been registered or unregistered, or a mapping or default argument type has been registered with the
+     * {@link #brigadierManager() Brigadier manager}, since then.</p>
+     *
+     * <p>Other changes that affect the built nodes, such as changed {@link CloudBrigadierManager#settings() Brigadier
+     * settings}, are not tracked. Call {@link #invalidateBrigadierTree()} after making them.</p>
+     *
+     * @throws IllegalStateException when commands have already been registered
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    @SuppressWarnings("unchecked")
+    public final void retainBrigadierTree() {
+        this.requireState(RegistrationState.BEFORE_REGISTRATION);
+        ((ModernPaperBrigadier<C, CommandSourceStack>) this.commandRegistrationHandler()).retainTree();
+    }
+
+    /**
+     * Discards the Brigadier command tree retained by {@link #retainBrigadierTree()}, so that it is rebuilt the next time
+     * Paper re-registers commands.
+     *
+     * <p>This has no effect unless the tree is retained.</p>
+     *
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    @SuppressWarnings("unchecked")
+    public final void invalidateBrigadierTree() {
+        ((ModernPaperBrigadier<C, CommandSourceStack>) this.commandRegistrationHandler()).invalidateTree();
+    }
+
+    /**
+     * Returns a size report of the Brigadier command tree this manager contributed to Paper.
+     *
+     * <p>The report is empty until commands have been registered with Paper.</p>
+     *
+     * @return the report
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    @SuppressWarnings("unchecked")
+    public final @NonNull CommandTreeReport commandTreeReport() {
+        return ((ModernPaperBrigadier<C, CommandSourceStack>) this.commandRegistrationHandler()).treeReport();
+    }
+
+    /**
+     * Sets the size budget of the Brigadier command tree this manager contributes to Paper.
+     *
+     * <p>A warning listing the largest root commands is logged whenever the {@link CommandTreeReport#estimatedBytes()
+     * estimated size} of the tree exceeds the budget after commands have been registered with Paper.</p>
+     *
+     * @param maxBytes maximum estimated size in bytes, or a negative value to disable the budget
+     * @since 2.0.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+    @SuppressWarnings("unchecked")
+    public final void commandTreeBudget(final long maxBytes) {
+        ((ModernPaperBrigadier<C, CommandSourceStack>) this.commandRegistrationHandler()).treeBudget(maxBytes);
+    }
+
     private void registerDefaultExceptionHandlers() {
         this.registerDefaultExceptionHandlers(
             triplet -> this.senderMapper().reverse(triplet.first().sender()).getSender()
@@ -188,6 +296,7 @@ public class PaperCommandManager<C> extends CommandManager<C> implements SenderM
          */
         public void onEnable() {
             BukkitHelper.ensurePluginEnabledOrEnabling(this.owningPlugin());
+            this.registerPluginListeners(this.owningPlugin());
             /*
             ((ModernPaperBrigadier<CommandSourceStack, C>) this.commandRegistrationHandler())
                 .registerPlugin(this.owningPlugin());
@@ -249,6 +358,7 @@ public class PaperCommandManager<C> extends CommandManager<C> implements SenderM
                 new PaperCommandManager<>(plugin.getPluginMeta(), this.executionCoordinator, this.senderMapper);
             ((ModernPaperBrigadier<CommandSourceStack, C>) mgr.commandRegistrationHandler()).registerPlugin(plugin);
             BukkitHelper.ensurePluginEnabledOrEnabling(plugin);
+            mgr.registerPluginListeners(plugin);
             return mgr;
         }
 
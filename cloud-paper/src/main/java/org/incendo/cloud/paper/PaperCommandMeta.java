@@ -0,0 +1,57 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.paper;
+
+import org.apiguardian.api.API;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Command meta keys understood by {@link PaperCommandManager}.
+ *
+ * @since 2.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+public final class PaperCommandMeta {
+
+    /**
+     * Whether the root command should only be registered with Brigadier once it is first needed.
+     * <p>
+     * A root command is deferred when all of its commands set this to {@code true}. Until then, only a stub is
+     * registered in its place: a literal accepting the rest of the input, which is passed on to cloud as is. The stub is
+     * only sent to senders that have the permission of one of the root's commands, and it is enough for dispatches from
+     * any source, including {@code /execute} and data pack functions.
+     * <p>
+     * The full tree of the root replaces the stub when a player joins who has the permission of one of its commands.
+     * On join, permissions are checked by their permission string, and compound permissions by their parts. A root whose
+     * commands use predicate permissions is registered when the first player joins. The replacement runs on the global
+     * region scheduler, followed by a command resend.
+     * <p>
+     * Until the root has been registered, clients only see a single string argument below the stub, so they get neither
+     * suggestions nor argument highlighting for it.
+     */
+    public static final CloudKey<Boolean> LAZY_REGISTRATION = CloudKey.of("paper_lazy_registration", Boolean.class);
+
+    private PaperCommandMeta() {
+    }
+}
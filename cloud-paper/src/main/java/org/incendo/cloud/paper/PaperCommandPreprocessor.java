@@ -23,13 +23,20 @@
 //
 package org.incendo.cloud.paper;
 
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
+import org.bukkit.Location;
+import org.bukkit.Server;
 import org.bukkit.command.BlockCommandSender;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
@@ -43,12 +50,15 @@ import org.incendo.cloud.execution.preprocessor.CommandPreprocessor;
 @DefaultQualifier(NonNull.class)
 final class PaperCommandPreprocessor<B, C> implements CommandPreprocessor<C> {
 
-    private static final boolean FOLIA =
+    static final boolean FOLIA =
             CraftBukkitReflection.classExists("io.papermc.paper.threadedregions.RegionizedServer");
 
     private final PluginHolder pluginHolder;
     private final SenderMapper<B, C> mapper;
     private final Function<B, CommandSender> senderExtractor;
+    private final Map<CommandSender, Executor> foliaExecutors = Collections.synchronizedMap(new WeakHashMap<>());
+    private volatile @Nullable Executor mainThreadExecutor;
+    private volatile @Nullable Executor globalExecutor;
 
     PaperCommandPreprocessor(
         final PluginHolder pluginHolder,
@@ -72,35 +82,81 @@ final class PaperCommandPreprocessor<B, C> implements CommandPreprocessor<C> {
         } else if (!(this.pluginHolder instanceof BukkitCommandManager)) {
             ctx.commandContext().store(
                 BukkitCommandContextKeys.SENDER_SCHEDULER_EXECUTOR,
-                BukkitHelper.mainThreadExecutor(this.pluginHolder)
+                this.mainThreadExecutor()
             );
         }
     }
 
+    private Executor mainThreadExecutor() {
+        @Nullable Executor executor = this.mainThreadExecutor;
+        if (executor == null) {
+            executor = BukkitHelper.mainThreadExecutor(this.pluginHolder);
+            this.mainThreadExecutor = executor;
+        }
+        return executor;
+    }
+
     private Executor foliaExecutorFor(final C sender) {
         final CommandSender commandSender = this.senderExtractor.apply(this.mapper.reverse(sender));
-        final Plugin plugin = this.pluginHolder.owningPlugin();
-        if (commandSender instanceof Entity) {
-            return task -> {
-                ((Entity) commandSender).getScheduler().run(
+        if (commandSender instanceof Entity || commandSender instanceof BlockCommandSender) {
+            @Nullable Executor executor = this.foliaExecutors.get(commandSender);
+            if (executor == null) {
+                executor = this.createFoliaExecutor(commandSender);
+                this.foliaExecutors.put(commandSender, executor);
+            }
+            return executor;
+        }
+        return this.globalExecutor();
+    }
+
+    private Executor globalExecutor() {
+        @Nullable Executor executor = this.globalExecutor;
+        if (executor == null) {
+            final Plugin plugin = this.pluginHolder.owningPlugin();
+            executor = task -> {
+                plugin.getServer().getGlobalRegionScheduler().run(
                         plugin,
-                        handle -> task.run(),
-                        null
+                        handle -> task.run()
                 );
             };
-        } else if (commandSender instanceof BlockCommandSender) {
-            final BlockCommandSender blockSender = (BlockCommandSender) commandSender;
+            this.globalExecutor = executor;
+        }
+        return executor;
+    }
+
+    private Executor createFoliaExecutor(final CommandSender commandSender) {
+        final Plugin plugin = this.pluginHolder.owningPlugin();
+        if (commandSender instanceof Entity) {
+            // The cache holds senders weakly, so the executor must not keep the entity alive
+            final WeakReference<Entity> entity = new WeakReference<>((Entity) commandSender);
+            final Server server = commandSender.getServer();
+            final Executor global = this.globalExecutor();
             return task -> {
-                blockSender.getServer().getRegionScheduler().run(
-                        plugin,
-                        blockSender.getBlock().getLocation(),
-                        handle -> task.run()
-                );
+                final @Nullable Entity current = entity.get();
+                // Tasks of a removed entity still have to run, or the futures waiting on them never complete
+                if (current == null) {
+                    global.execute(task);
+                    return;
+                }
+                // Continuations that already run on the owning region, such as later arguments, need no extra tick
+                if (server.isOwnedByCurrentRegion(current)) {
+                    task.run();
+                } else if (current.getScheduler().run(plugin, handle -> task.run(), () -> global.execute(task)) == null) {
+                    global.execute(task);
+                }
             };
         }
+        final BlockCommandSender blockSender = (BlockCommandSender) commandSender;
+        final Server server = blockSender.getServer();
+        final Location location = blockSender.getBlock().getLocation();
         return task -> {
-            plugin.getServer().getGlobalRegionScheduler().run(
+            if (server.isOwnedByCurrentRegion(location)) {
+                task.run();
+                return;
+            }
+            server.getRegionScheduler().run(
                     plugin,
+                    location,
                     handle -> task.run()
             );
         };
@@ -0,0 +1,83 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.paper;
+
+import java.util.concurrent.Executor;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.brigadier.util.VirtualThreadExecutors;
+import org.incendo.cloud.bukkit.BukkitCommandContextKeys;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+
+/**
+ * {@link ExecutionCoordinator} presets for Paper command managers.
+ *
+ * @since 2.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+public final class PaperExecutionCoordinators {
+
+    private static final String THREAD_PREFIX = "cloud-paper-worker-";
+
+    private static @MonotonicNonNull Executor sharedExecutor;
+
+    private PaperExecutionCoordinators() {
+    }
+
+    /**
+     * Returns a coordinator that parses commands and computes suggestions off the server thread.
+     *
+     * <p>Virtual threads are used when the runtime supports them. Otherwise, a shared pool bounded to the number of
+     * available processors is used. Command handlers run on the thread that finished parsing, so they must not touch
+     * the world directly. Parsers shipped with cloud that need the main thread or a region thread schedule that work
+     * through {@link BukkitCommandContextKeys#SENDER_SCHEDULER_EXECUTOR}, which handlers may use as well.</p>
+     *
+     * @param <C> command sender type
+     * @return the coordinator
+     */
+    public static <C> @NonNull ExecutionCoordinator<C> virtualThreadCoordinator() {
+        return VirtualThreadExecutors.coordinator(sharedExecutor());
+    }
+
+    /**
+     * Returns a coordinator like {@link #virtualThreadCoordinator()}, which falls back to a new pool with at most
+     * {@code maxThreads} threads when virtual threads are not available.
+     *
+     * @param <C>        command sender type
+     * @param maxThreads maximum number of threads of the fallback pool
+     * @return the coordinator
+     * @throws IllegalArgumentException if {@code maxThreads} is not positive
+     */
+    public static <C> @NonNull ExecutionCoordinator<C> virtualThreadCoordinator(final int maxThreads) {
+        return VirtualThreadExecutors.coordinator(VirtualThreadExecutors.create(THREAD_PREFIX, maxThreads));
+    }
+
+    private static synchronized Executor sharedExecutor() {
+        if (sharedExecutor == null) {
+            sharedExecutor = VirtualThreadExecutors.create(THREAD_PREFIX, VirtualThreadExecutors.DEFAULT_MAX_THREADS);
+        }
+        return sharedExecutor;
+    }
+}
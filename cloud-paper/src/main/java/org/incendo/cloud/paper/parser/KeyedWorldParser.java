@@ -24,6 +24,7 @@
 package org.incendo.cloud.paper.parser;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.apiguardian.api.API;
@@ -31,7 +32,9 @@ import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.bukkit.internal.CraftBukkitReflection;
+import org.incendo.cloud.bukkit.internal.WorldIndex;
 import org.incendo.cloud.bukkit.parser.WorldParser;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
@@ -102,6 +105,14 @@ public final class KeyedWorldParser<C> implements ArgumentParser<C, World>, Sugg
 
         final String input = commandInput.readString();
 
+        final @Nullable WorldIndex index = commandContext.getOrDefault(WorldIndex.KEY, null);
+        if (index != null) {
+            final @Nullable World indexed = index.byKey(input);
+            if (indexed != null) {
+                return ArgumentParseResult.success(indexed);
+            }
+        }
+
         final NamespacedKey key = NamespacedKey.fromString(input);
         if (key == null) {
             return ArgumentParseResult.failure(new WorldParser.WorldParseException(input, commandContext));
@@ -124,6 +135,23 @@ public final class KeyedWorldParser<C> implements ArgumentParser<C, World>, Sugg
             return this.parser.suggestionProvider().suggestionsFuture(commandContext, input);
         }
 
+        final @Nullable WorldIndex index = commandContext.getOrDefault(WorldIndex.KEY, null);
+        if (index != null) {
+            final String token = input.peekString();
+            final List<String> keys = index.keysWithPrefix(token);
+            final List<String> shortKeys = input.hasRemainingInput()
+                    ? index.shortKeysWithPrefix(token)
+                    : Collections.emptyList();
+            final List<Suggestion> completions = new ArrayList<>(keys.size() + shortKeys.size());
+            for (final String shortKey : shortKeys) {
+                completions.add(Suggestion.suggestion(shortKey));
+            }
+            for (final String key : keys) {
+                completions.add(Suggestion.suggestion(key));
+            }
+            return CompletableFuture.completedFuture(completions);
+        }
+
         final List<World> worlds = Bukkit.getWorlds();
         final List<Suggestion> completions = new ArrayList<>(worlds.size() * 2);
         for (final World world : worlds) {
@@ -24,10 +24,18 @@
 package org.incendo.cloud.paper.suggestion;
 
 import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.bukkit.event.EventHandler;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.bukkit.BukkitPluginRegistrationHandler;
 import org.incendo.cloud.bukkit.internal.BukkitHelper;
 import org.incendo.cloud.paper.LegacyPaperCommandManager;
@@ -38,9 +46,17 @@ import org.incendo.cloud.util.StringUtils;
 class AsyncCommandSuggestionListener<C> implements SuggestionListener<C> {
 
     private final LegacyPaperCommandManager<C> paperCommandManager;
+    private final @Nullable Duration deadline;
+    private final int maxSuggestions;
 
-    AsyncCommandSuggestionListener(final @NonNull LegacyPaperCommandManager<C> paperCommandManager) {
+    AsyncCommandSuggestionListener(
+            final @NonNull LegacyPaperCommandManager<C> paperCommandManager,
+            final @Nullable Duration deadline,
+            final int maxSuggestions
+    ) {
         this.paperCommandManager = paperCommandManager;
+        this.deadline = deadline;
+        this.maxSuggestions = maxSuggestions;
     }
 
     @EventHandler
@@ -77,8 +93,15 @@ class AsyncCommandSuggestionListener<C> implements SuggestionListener<C> {
         event.setHandled(true);
     }
 
-    protected Suggestions<C, ?> querySuggestions(final @NonNull C commandSender, final @NonNull String input) {
-        return this.paperCommandManager.suggestionFactory().suggestImmediately(commandSender, input);
+    /**
+     * Queries the suggestions for the given input.
+     *
+     * @param commandSender the sender
+     * @param input         the input
+     * @return the suggestions, or {@code null} if they were not ready before the deadline
+     */
+    protected @Nullable Suggestions<C, ?> querySuggestions(final @NonNull C commandSender, final @NonNull String input) {
+        return this.await(this.paperCommandManager.suggestionFactory().suggest(commandSender, input));
     }
 
     protected void setSuggestions(
@@ -86,11 +109,45 @@ class AsyncCommandSuggestionListener<C> implements SuggestionListener<C> {
             final @NonNull C commandSender,
             final @NonNull String input
     ) {
-        final Suggestions<C, ?> suggestions = this.querySuggestions(commandSender, input);
-        event.setCompletions(suggestions.list().stream()
-                .map(Suggestion::suggestion)
-                .map(suggestion -> StringUtils.trimBeforeLastSpace(suggestion, suggestions.commandInput()))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
+        final @Nullable Suggestions<C, ?> suggestions = this.querySuggestions(commandSender, input);
+        if (suggestions == null) {
+            event.setCompletions(Collections.emptyList());
+            return;
+        }
+        final List<String> completions = new ArrayList<>(Math.min(suggestions.list().size(), this.maxSuggestions));
+        for (final Suggestion suggestion : suggestions.list()) {
+            if (completions.size() >= this.maxSuggestions) {
+                break;
+            }
+            final @Nullable String trimmed = StringUtils.trimBeforeLastSpace(suggestion.suggestion(), suggestions.commandInput());
+            if (trimmed != null) {
+                completions.add(trimmed);
+            }
+        }
+        event.setCompletions(completions);
+    }
+
+    final int maxSuggestions() {
+        return this.maxSuggestions;
+    }
+
+    // Without a deadline this blocks like suggestImmediately, otherwise late suggestions are dropped and their future is
+    // cancelled, so that the stages still waiting on it are not run once the abandoned work completes
+    final <S> @Nullable S await(final @NonNull CompletableFuture<S> future) {
+        if (this.deadline == null) {
+            return future.join();
+        }
+        try {
+            return future.get(this.deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException ex) {
+            future.cancel(true);
+            return null;
+        } catch (final InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (final ExecutionException ex) {
+            throw new CompletionException(ex.getCause());
+        }
     }
 }
@@ -24,8 +24,10 @@
 package org.incendo.cloud.paper.suggestion;
 
 import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.bukkit.event.EventHandler;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -39,11 +41,15 @@ import org.incendo.cloud.util.StringUtils;
 
 class BrigadierAsyncCommandSuggestionListener<C> extends AsyncCommandSuggestionListener<C> {
 
-    private final CompletionMapperFactory completionMapperFactory = CompletionMapperFactory.detectingRelocation();
+    private final CompletionMapper completionMapper = CompletionMapperFactory.detectingRelocation().createMapper();
     private final SuggestionFactory<C, ? extends TooltipSuggestion> suggestionFactory;
 
-    BrigadierAsyncCommandSuggestionListener(final @NonNull LegacyPaperCommandManager<C> paperCommandManager) {
-        super(paperCommandManager);
+    BrigadierAsyncCommandSuggestionListener(
+            final @NonNull LegacyPaperCommandManager<C> paperCommandManager,
+            final @Nullable Duration deadline,
+            final int maxSuggestions
+    ) {
+        super(paperCommandManager, deadline, maxSuggestions);
         this.suggestionFactory = paperCommandManager.suggestionFactory().mapped(TooltipSuggestion::tooltipSuggestion);
     }
 
@@ -54,11 +60,11 @@ class BrigadierAsyncCommandSuggestionListener<C> extends AsyncCommandSuggestionL
     }
 
     @Override
-    protected Suggestions<C, ? extends TooltipSuggestion> querySuggestions(
+    protected @Nullable Suggestions<C, ? extends TooltipSuggestion> querySuggestions(
             final @NonNull C commandSender,
             final @NonNull String input
     ) {
-        return this.suggestionFactory.suggestImmediately(commandSender, input);
+        return this.await(this.suggestionFactory.suggest(commandSender, input));
     }
 
     @Override
@@ -67,19 +73,23 @@ class BrigadierAsyncCommandSuggestionListener<C> extends AsyncCommandSuggestionL
             final @NonNull C commandSender,
             final @NonNull String input
     ) {
-        final CompletionMapper completionMapper = this.completionMapperFactory.createMapper();
-        final Suggestions<C, ? extends TooltipSuggestion> suggestions = this.querySuggestions(commandSender, input);
-        event.completions(suggestions.list().stream()
-                .map(suggestion -> {
-                    final @Nullable String trim = StringUtils.trimBeforeLastSpace(
-                            suggestion.suggestion(), suggestions.commandInput());
-                    if (trim == null) {
-                        return null;
-                    }
-                    return suggestion.withSuggestion(trim);
-                })
-                .filter(Objects::nonNull)
-                .map(completionMapper::map)
-                .collect(Collectors.toList()));
+        final @Nullable Suggestions<C, ? extends TooltipSuggestion> suggestions = this.querySuggestions(commandSender, input);
+        if (suggestions == null) {
+            event.completions(Collections.emptyList());
+            return;
+        }
+        final int maxSuggestions = this.maxSuggestions();
+        final List<AsyncTabCompleteEvent.Completion> completions =
+                new ArrayList<>(Math.min(suggestions.list().size(), maxSuggestions));
+        for (final TooltipSuggestion suggestion : suggestions.list()) {
+            if (completions.size() >= maxSuggestions) {
+                break;
+            }
+            final @Nullable String trim = StringUtils.trimBeforeLastSpace(suggestion.suggestion(), suggestions.commandInput());
+            if (trim != null) {
+                completions.add(this.completionMapper.map(suggestion.withSuggestion(trim)));
+            }
+        }
+        event.completions(completions);
     }
 }
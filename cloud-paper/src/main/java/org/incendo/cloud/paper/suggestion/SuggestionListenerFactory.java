@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.paper.suggestion;
 
+import java.time.Duration;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -40,7 +41,25 @@ public interface SuggestionListenerFactory<C> {
      * @return the suggestion listener factory
      */
     static <C> @NonNull SuggestionListenerFactory<C> create(final @NonNull LegacyPaperCommandManager<C> commandManager) {
-        return new SuggestionListenerFactoryImpl<>(commandManager);
+        return new SuggestionListenerFactoryImpl<>(commandManager, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a suggestion listener factory whose listeners drop suggestions that are not ready within {@code deadline}
+     * and send at most {@code maxSuggestions} suggestions.
+     *
+     * @param <C>            the command sender type
+     * @param commandManager the command manager
+     * @param deadline       maximum time to await suggestions for
+     * @param maxSuggestions maximum number of suggestions to send
+     * @return the suggestion listener factory
+     */
+    static <C> @NonNull SuggestionListenerFactory<C> create(
+            final @NonNull LegacyPaperCommandManager<C> commandManager,
+            final @NonNull Duration deadline,
+            final int maxSuggestions
+    ) {
+        return new SuggestionListenerFactoryImpl<>(commandManager, deadline, maxSuggestions);
     }
 
     /**
@@ -54,9 +73,17 @@ public interface SuggestionListenerFactory<C> {
     final class SuggestionListenerFactoryImpl<C> implements SuggestionListenerFactory<C> {
 
         private final LegacyPaperCommandManager<C> commandManager;
+        private final @Nullable Duration deadline;
+        private final int maxSuggestions;
 
-        private SuggestionListenerFactoryImpl(final @NonNull LegacyPaperCommandManager<C> commandManager) {
+        private SuggestionListenerFactoryImpl(
+                final @NonNull LegacyPaperCommandManager<C> commandManager,
+                final @Nullable Duration deadline,
+                final int maxSuggestions
+        ) {
             this.commandManager = commandManager;
+            this.deadline = deadline;
+            this.maxSuggestions = maxSuggestions;
         }
 
         @Override
@@ -65,9 +92,9 @@ public interface SuggestionListenerFactory<C> {
                 "com.destroystokyo.paper.event.server.AsyncTabCompleteEvent$Completion"
             );
             if (completionCls != null) {
-                return new BrigadierAsyncCommandSuggestionListener<>(this.commandManager);
+                return new BrigadierAsyncCommandSuggestionListener<>(this.commandManager, this.deadline, this.maxSuggestions);
             }
-            return new AsyncCommandSuggestionListener<>(this.commandManager);
+            return new AsyncCommandSuggestionListener<>(this.commandManager, this.deadline, this.maxSuggestions);
         }
     }
 }
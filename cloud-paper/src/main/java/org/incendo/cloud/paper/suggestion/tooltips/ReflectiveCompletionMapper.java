@@ -28,6 +28,7 @@ import com.mojang.brigadier.Message;
 import io.papermc.paper.command.brigadier.MessageComponentSerializer;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.brigadier.suggestion.TooltipSuggestion;
@@ -52,27 +53,29 @@ final class ReflectiveCompletionMapper implements CompletionMapper {
 
     @SuppressWarnings("UnstableApiUsage")
     private static final class Modern implements CompletionMapper {
-        private final Object serializer;
-        private final Method deserializeOrNull;
-        private final Method completionWithTooltipMethod;
+        private final MethodHandle deserializeOrNull;
+        private final MethodHandle completionWithTooltip;
 
         Modern() {
-            final Method instance = CraftBukkitReflection.needMethod(
+            final Method deserializeOrNullMethod = CraftBukkitReflection.needMethod(
                 MessageComponentSerializer.class,
-                "message"
+                "deserializeOrNull",
+                Message.class
+            );
+            final Method completionWithTooltipMethod = CraftBukkitReflection.needMethod(
+                AsyncTabCompleteEvent.Completion.class,
+                "completion",
+                String.class,
+                deserializeOrNullMethod.getReturnType()
             );
             try {
-                this.serializer = instance.invoke(null);
-                this.deserializeOrNull = CraftBukkitReflection.needMethod(
-                    MessageComponentSerializer.class,
-                    "deserializeOrNull",
-                    Message.class
-                );
-                this.completionWithTooltipMethod = CraftBukkitReflection.needMethod(
-                    AsyncTabCompleteEvent.Completion.class,
-                    "completion",
-                    String.class,
-                    this.deserializeOrNull.getReturnType()
+                final Object serializer = CraftBukkitReflection.needMethod(MessageComponentSerializer.class, "message").invoke(null);
+                this.deserializeOrNull = CraftBukkitReflection.unreflect(deserializeOrNullMethod)
+                    .bindTo(serializer)
+                    .asType(MethodType.methodType(Object.class, Message.class));
+                this.completionWithTooltip = CraftBukkitReflection.unreflect(
+                    completionWithTooltipMethod,
+                    MethodType.methodType(AsyncTabCompleteEvent.Completion.class, String.class, Object.class)
                 );
             } catch (final ReflectiveOperationException e) {
                 throw new RuntimeException(e);
@@ -81,13 +84,17 @@ final class ReflectiveCompletionMapper implements CompletionMapper {
 
         @Override
         public AsyncTabCompleteEvent.@NonNull Completion map(final @NonNull TooltipSuggestion suggestion) {
+            final Message tooltip = suggestion.tooltip();
+            if (tooltip == null) {
+                return AsyncTabCompleteEvent.Completion.completion(suggestion.suggestion());
+            }
             try {
-                return (AsyncTabCompleteEvent.Completion) this.completionWithTooltipMethod.invoke(
+                return (AsyncTabCompleteEvent.Completion) this.completionWithTooltip.invokeExact(
                     suggestion.suggestion(),
-                    this.deserializeOrNull.invoke(this.serializer, suggestion.tooltip())
+                    (Object) this.deserializeOrNull.invokeExact(tooltip)
                 );
-            } catch (final ReflectiveOperationException e) {
-                throw new RuntimeException(e);
+            } catch (final Throwable e) {
+                throw CraftBukkitReflection.propagate(e);
             }
         }
     }
@@ -110,8 +117,10 @@ final class ReflectiveCompletionMapper implements CompletionMapper {
                 componentFromMessageMethod.getReturnType()
             );
             try {
-                this.componentFromMessage = MethodHandles.publicLookup().unreflect(componentFromMessageMethod);
-                this.completionWithTooltip = MethodHandles.publicLookup().unreflect(completionWithTooltipMethod);
+                this.componentFromMessage = MethodHandles.publicLookup().unreflect(componentFromMessageMethod)
+                    .asType(MethodType.methodType(Object.class, Message.class));
+                this.completionWithTooltip = MethodHandles.publicLookup().unreflect(completionWithTooltipMethod)
+                    .asType(MethodType.methodType(AsyncTabCompleteEvent.Completion.class, String.class, Object.class));
             } catch (IllegalAccessException e) {
                 throw new RuntimeException(e);
             }
@@ -124,8 +133,8 @@ final class ReflectiveCompletionMapper implements CompletionMapper {
                 return AsyncTabCompleteEvent.Completion.completion(suggestion.suggestion());
             }
             try {
-                final Object component = this.componentFromMessage.invoke(tooltip);
-                return (AsyncTabCompleteEvent.Completion) this.completionWithTooltip.invoke(suggestion.suggestion(), component);
+                final Object component = (Object) this.componentFromMessage.invokeExact(tooltip);
+                return (AsyncTabCompleteEvent.Completion) this.completionWithTooltip.invokeExact(suggestion.suggestion(), component);
             } catch (final Throwable e) {
                 throw new RuntimeException(e);
             }
@@ -43,6 +43,7 @@ import org.incendo.cloud.brigadier.suggestion.TooltipSuggestion;
 import org.incendo.cloud.caption.CaptionProvider;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.suggestion.SuggestionFactory;
+import org.incendo.cloud.velocity.internal.OnlinePlayerIndex;
 import org.incendo.cloud.velocity.parser.PlayerParser;
 import org.incendo.cloud.velocity.parser.ServerParser;
 
@@ -76,6 +77,7 @@ public class VelocityCommandManager<C> extends CommandManager<C>
     private final ProxyServer proxyServer;
     private final SenderMapper<CommandSource, C> senderMapper;
     private final SuggestionFactory<C, ? extends TooltipSuggestion> suggestionFactory;
+    private final OnlinePlayerIndex onlinePlayerIndex;
 
     /**
      * Create a new command manager instance
@@ -97,6 +99,7 @@ public class VelocityCommandManager<C> extends CommandManager<C>
         this.proxyServer = proxyServer;
         this.senderMapper = senderMapper;
         this.suggestionFactory = super.suggestionFactory().mapped(TooltipSuggestion::tooltipSuggestion);
+        this.onlinePlayerIndex = OnlinePlayerIndex.create(plugin, proxyServer);
 
         ((VelocityPluginRegistrationHandler<C>) this.commandRegistrationHandler()).initialize(this);
 
@@ -168,6 +171,10 @@ public class VelocityCommandManager<C> extends CommandManager<C>
         return this.proxyServer;
     }
 
+    final @NonNull OnlinePlayerIndex onlinePlayerIndex() {
+        return this.onlinePlayerIndex;
+    }
+
     private void registerDefaultExceptionHandlers() {
         this.registerDefaultExceptionHandlers(
             triplet -> {
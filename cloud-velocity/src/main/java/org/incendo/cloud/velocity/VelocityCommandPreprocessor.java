@@ -26,6 +26,7 @@ package org.incendo.cloud.velocity;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessingContext;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessor;
+import org.incendo.cloud.velocity.internal.OnlinePlayerIndex;
 
 /**
  * Command preprocessor which decorates incoming {@link org.incendo.cloud.context.CommandContext}
@@ -53,5 +54,6 @@ final class VelocityCommandPreprocessor<C> implements CommandPreprocessor<C> {
                 VelocityContextKeys.PROXY_SERVER_KEY,
                 this.mgr.proxyServer()
         );
+        context.commandContext().store(OnlinePlayerIndex.KEY, this.mgr.onlinePlayerIndex());
     }
 }
@@ -0,0 +1,81 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.velocity;
+
+import java.util.concurrent.Executor;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.brigadier.util.VirtualThreadExecutors;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+
+/**
+ * {@link ExecutionCoordinator} presets for {@link VelocityCommandManager}.
+ *
+ * @since 2.0.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.0.0")
+public final class VelocityExecutionCoordinators {
+
+    private static final String THREAD_PREFIX = "cloud-velocity-worker-";
+
+    private static @MonotonicNonNull Executor sharedExecutor;
+
+    private VelocityExecutionCoordinators() {
+    }
+
+    /**
+     * Returns a coordinator that parses commands and computes suggestions on dedicated threads.
+     *
+     * <p>Virtual threads are used when the runtime supports them. Otherwise, a shared pool bounded to the number of
+     * available processors is used. Command handlers run on the thread that finished parsing, which keeps blocking
+     * work such as database queries away from the proxy's command threads.</p>
+     *
+     * @param <C> command sender type
+     * @return the coordinator
+     */
+    public static <C> @NonNull ExecutionCoordinator<C> virtualThreadCoordinator() {
+        return VirtualThreadExecutors.coordinator(sharedExecutor());
+    }
+
+    /**
+     * Returns a coordinator like {@link #virtualThreadCoordinator()}, which falls back to a new pool with at most
+     * {@code maxThreads} threads when virtual threads are not available.
+     *
+     * @param <C>        command sender type
+     * @param maxThreads maximum number of threads of the fallback pool
+     * @return the coordinator
+     * @throws IllegalArgumentException if {@code maxThreads} is not positive
+     */
+    public static <C> @NonNull ExecutionCoordinator<C> virtualThreadCoordinator(final int maxThreads) {
+        return VirtualThreadExecutors.coordinator(VirtualThreadExecutors.create(THREAD_PREFIX, maxThreads));
+    }
+
+    private static synchronized Executor sharedExecutor() {
+        if (sharedExecutor == null) {
+            sharedExecutor = VirtualThreadExecutors.create(THREAD_PREFIX, VirtualThreadExecutors.DEFAULT_MAX_THREADS);
+        }
+        return sharedExecutor;
+    }
+}
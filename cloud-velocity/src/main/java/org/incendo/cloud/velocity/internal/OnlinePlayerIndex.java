@@ -0,0 +1,120 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.velocity.internal;
+
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.PostLoginEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import net.kyori.adventure.text.Component;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.brigadier.suggestion.TooltipSuggestion;
+import org.incendo.cloud.brigadier.util.SortedNameIndex;
+import org.incendo.cloud.key.CloudKey;
+
+import static com.velocitypowered.api.command.VelocityBrigadierMessage.tooltip;
+
+/**
+ * Index of online players sorted by lowercase name, maintained from login and disconnect events.
+ *
+ * <p>Each entry holds a pre-built {@link TooltipSuggestion} for its player, so prefix queries only collect
+ * existing suggestions. Reads are lock-free against an immutable {@link SortedNameIndex}, while updates
+ * replace it with a copy.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class OnlinePlayerIndex {
+
+    /**
+     * Key used to store the index of the owning command manager in the command context.
+     */
+    public static final CloudKey<OnlinePlayerIndex> KEY = CloudKey.of("OnlinePlayerIndex", OnlinePlayerIndex.class);
+
+    private volatile SortedNameIndex<Entry> players = SortedNameIndex.empty();
+
+    private OnlinePlayerIndex() {
+    }
+
+    /**
+     * Creates a new index, seeds it with the currently connected players and registers its listeners.
+     *
+     * @param plugin      plugin owning the listeners
+     * @param proxyServer proxy server
+     * @return the index
+     */
+    public static @NonNull OnlinePlayerIndex create(final @NonNull Object plugin, final @NonNull ProxyServer proxyServer) {
+        final OnlinePlayerIndex index = new OnlinePlayerIndex();
+        proxyServer.getEventManager().register(plugin, PostLoginEvent.class, event -> index.add(event.getPlayer()));
+        proxyServer.getEventManager().register(plugin, DisconnectEvent.class, event -> index.remove(event.getPlayer()));
+        for (final Player player : proxyServer.getAllPlayers()) {
+            index.add(player);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the suggestions for the connected players whose name starts with {@code prefix}, ignoring case.
+     *
+     * @param prefix name prefix
+     * @return matching suggestions, sorted by name
+     */
+    public @NonNull List<@NonNull TooltipSuggestion> suggestionsWithPrefix(final @NonNull String prefix) {
+        final List<Entry> entries = this.players.valuesWithPrefix(prefix.toLowerCase(Locale.ROOT));
+        final List<TooltipSuggestion> suggestions = new ArrayList<>(entries.size());
+        for (final Entry entry : entries) {
+            suggestions.add(entry.suggestion);
+        }
+        return suggestions;
+    }
+
+    private synchronized void add(final @NonNull Player player) {
+        this.players = this.players.with(player.getUsername().toLowerCase(Locale.ROOT), new Entry(player));
+    }
+
+    private synchronized void remove(final @NonNull Player player) {
+        // Only remove the entry if it still belongs to this player, a player with the same name may have joined since
+        this.players = this.players.without(
+                player.getUsername().toLowerCase(Locale.ROOT),
+                indexed -> indexed.uniqueId.equals(player.getUniqueId())
+        );
+    }
+
+    private static final class Entry {
+
+        private final UUID uniqueId;
+        private final TooltipSuggestion suggestion;
+
+        private Entry(final @NonNull Player player) {
+            this.uniqueId = player.getUniqueId();
+            this.suggestion = TooltipSuggestion.suggestion(
+                    player.getUsername(),
+                    tooltip(Component.text(player.getUniqueId().toString()))
+            );
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.incendo.cloud.suggestion.BlockingSuggestionProvider;
 import org.incendo.cloud.suggestion.Suggestion;
 import org.incendo.cloud.velocity.VelocityCaptionKeys;
 import org.incendo.cloud.velocity.VelocityContextKeys;
+import org.incendo.cloud.velocity.internal.OnlinePlayerIndex;
 
 import static com.velocitypowered.api.command.VelocityBrigadierMessage.tooltip;
 
@@ -101,6 +102,10 @@ public final class PlayerParser<C> implements ArgumentParser<C, Player>, Blockin
         final @NonNull CommandContext<C> commandContext,
         final @NonNull CommandInput input
     ) {
+        final OnlinePlayerIndex index = commandContext.getOrDefault(OnlinePlayerIndex.KEY, null);
+        if (index != null) {
+            return index.suggestionsWithPrefix(input.peekString());
+        }
         return commandContext.get(VelocityContextKeys.PROXY_SERVER_KEY).getAllPlayers().stream()
             .map(player -> TooltipSuggestion.suggestion(player.getUsername(), tooltip(Component.text(player.getUniqueId().toString()))))
             .collect(Collectors.toList());